@@ -9,6 +9,7 @@ import algorithms.hybrid.ConsoleExplanationManager;
 import algorithms.hybrid.HybridSolver;
 import api_implementation.MhsMxpAbductionFactory;
 import application.Application;
+import application.BatchRunner;
 import application.ExitCode;
 import common.Configuration;
 import common.ConsolePrinter;
@@ -48,18 +49,24 @@ public class Main {
 
         Logger logger = Logger.getLogger(Main.class.getSimpleName());
         ThreadTimes threadTimes = new ThreadTimes(100);
+        IReasonerManager reasonerManager = null;
 
         try{
 
             ArgumentParser argumentParser = new ArgumentParser();
             argumentParser.parse(args);
 
+            if (Configuration.BATCH_MANIFEST != null) {
+                new BatchRunner(logger).run();
+                return;
+            }
+
             threadTimes.start();
 
             ILoader loader = new ConsoleLoader();
             loader.initialize(Configuration.REASONER);
 
-            IReasonerManager reasonerManager = new ReasonerManager(loader);
+            reasonerManager = new ReasonerManager(loader);
 
             ISolver solver = createSolver(threadTimes, loader, reasonerManager, logger);
             solver.solve(loader, reasonerManager);
@@ -68,6 +75,9 @@ public class Main {
             new ConsolePrinter(logger).logError("An error occurred: ", e);
             Application.finish(ExitCode.ERROR);
         } finally {
+            if (reasonerManager != null) {
+                reasonerManager.dispose();
+            }
             threadTimes.interrupt();
         }
 
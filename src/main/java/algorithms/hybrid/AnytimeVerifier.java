@@ -0,0 +1,146 @@
+package algorithms.hybrid;
+
+import common.Configuration;
+import file_logger.FileLogger;
+import models.Explanation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import reasoner.ILoader;
+import reasoner.IReasonerManager;
+import reasoner.ReasonerManager;
+import reasoner.WorkerLoader;
+import timer.Deadline;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies possible explanations in the background while the tree is being built, on its own reasoner.
+ * A candidate is confirmed if it passes the same checks as at the end of the run: it contains no complementary
+ * assertions, it is consistent with the knowledge base, it is relevant and it is minimal. Minimality is checked
+ * directly: no subset without one of the axioms is an explanation, so a confirmed explanation stays final
+ * whatever is found later. Confirmed explanations are written to the confirmed explanations log right away.
+ */
+class AnytimeVerifier {
+
+    private final ExplanationManager explanationManager;
+    private final ILoader loader;
+    private final HybridSolver solver;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final List<Explanation> confirmed = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<Explanation> unpublished = new ConcurrentLinkedQueue<>();
+    private WorkerLoader workerLoader;
+    private volatile IReasonerManager reasonerManager;
+    private RuleChecker ruleChecker;
+    private volatile Throwable failure;
+    private volatile boolean stopped = false;
+
+    AnytimeVerifier(ExplanationManager explanationManager, ILoader loader, HybridSolver solver) {
+        this.explanationManager = explanationManager;
+        this.loader = loader;
+        this.solver = solver;
+    }
+
+    void submit(Explanation candidate) {
+        List<OWLAxiom> axioms = new ArrayList<>(candidate.getOwlAxioms());
+        executor.execute(() -> {
+            if (failure != null || stopped) {
+                return;
+            }
+            try {
+                if (isConfirmed(candidate, axioms)) {
+                    confirmed.add(candidate);
+                    unpublished.add(candidate);
+                    String line = String.format("%.2f;%s\n", solver.threadTimes.getTotalUserTimeInSec(), candidate);
+                    FileLogger.appendToFile(FileLogger.HYBRID_CONFIRMED_EXPLANATIONS_LOG_FILE__PREFIX, solver.currentTimeMillis, line);
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+        });
+    }
+
+    /**
+     * @return explanations confirmed since the last call
+     */
+    List<Explanation> takeUnpublished() {
+        List<Explanation> result = new ArrayList<>();
+        Explanation explanation;
+        while ((explanation = unpublished.poll()) != null) {
+            result.add(explanation);
+        }
+        return result;
+    }
+
+    /**
+     * Waits until all submitted candidates are verified. If the timeout expires (or has already expired), the running
+     * check is interrupted and the candidates not verified yet are dropped.
+     * @return confirmed explanations, in the order in which they were submitted
+     */
+    List<Explanation> finish() {
+        executor.shutdown();
+        Deadline deadline = solver.getDeadline();
+        Runnable stop = this::stop;
+        if (deadline != null) {
+            deadline.onExpiry(stop);
+        }
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+        } finally {
+            if (deadline != null) {
+                deadline.cancelExpiryAction(stop);
+            }
+        }
+        if (executor.isTerminated() && workerLoader != null) {
+            reasonerManager.dispose();
+            workerLoader.dispose();
+        }
+        // a check aborted by the timeout is not a failure
+        if (failure != null && !stopped) {
+            throw new RuntimeException("Verifying explanations failed", failure);
+        }
+        return new ArrayList<>(confirmed);
+    }
+
+    private void stop() {
+        stopped = true;
+        executor.shutdownNow();
+        IReasonerManager current = reasonerManager;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private boolean isConfirmed(Explanation candidate, List<OWLAxiom> axioms) throws Exception {
+        if (reasonerManager == null) {
+            workerLoader = new WorkerLoader(loader);
+            reasonerManager = new ReasonerManager(workerLoader);
+            ruleChecker = new RuleChecker(loader, reasonerManager);
+        }
+        if (!Configuration.MHS_MODE) {
+            if (!explanationManager.isExplanation(candidate)) {
+                return false;
+            }
+            reasonerManager.resetOntologyToInitial();
+            if (!reasonerManager.isOntologyWithLiteralsConsistent(axioms)) {
+                return false;
+            }
+        }
+        if (Configuration.MHS_MODE ? Configuration.SEARCH_MODE == SearchMode.BEST_FIRST : !Configuration.CHECKING_MINIMALITY_BY_QXP) {
+            reasonerManager.resetOntologyToOriginal();
+            for (int i = 0; i < axioms.size(); i++) {
+                List<OWLAxiom> subset = new ArrayList<>(axioms);
+                subset.remove(i);
+                if (!reasonerManager.isOntologyWithLiteralsConsistent(subset)) {
+                    return false;
+                }
+            }
+        }
+        return Configuration.MHS_MODE || ruleChecker.isRelevant(candidate);
+    }
+}
@@ -0,0 +1,118 @@
+package algorithms.hybrid;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+/**
+ * Immutable collection of distinct axioms made of the collection it extends and the axioms appended to it.
+ * Nodes of the HS-tree extend the collections of their parent, so siblings share everything but their own axioms.
+ * Axioms are iterated in the order in which they were appended.
+ */
+class AxiomChain extends AbstractCollection<OWLAxiom> {
+
+    static final AxiomChain EMPTY = new AxiomChain(null, Collections.emptyList());
+
+    // up to this size, contains() walks the chain instead of building a set of all its axioms
+    private static final int SCAN_LIMIT = 16;
+
+    private final AxiomChain parent;
+    private final List<OWLAxiom> appended;
+    private final int size;
+    private final int length;
+    private volatile Set<OWLAxiom> members;
+
+    private AxiomChain(AxiomChain parent, List<OWLAxiom> appended) {
+        this.parent = parent;
+        this.appended = appended;
+        this.size = (parent == null ? 0 : parent.size) + appended.size();
+        this.length = parent == null ? 1 : parent.length + 1;
+    }
+
+    AxiomChain append(OWLAxiom axiom) {
+        if (contains(axiom)) {
+            return this;
+        }
+        return new AxiomChain(this, Collections.singletonList(axiom));
+    }
+
+    AxiomChain appendAll(Collection<OWLAxiom> axioms) {
+        Set<OWLAxiom> newAxioms = new LinkedHashSet<>();
+        for (OWLAxiom axiom : axioms) {
+            if (!contains(axiom)) {
+                newAxioms.add(axiom);
+            }
+        }
+        if (newAxioms.isEmpty()) {
+            return this;
+        }
+        return new AxiomChain(this, new ArrayList<>(newAxioms));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (size > SCAN_LIMIT) {
+            return getMembers().contains(o);
+        }
+        for (AxiomChain chain = this; chain != null; chain = chain.parent) {
+            if (chain.appended.contains(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // built on the first lookup in a long chain, from the set of the parent if it has one
+    private Set<OWLAxiom> getMembers() {
+        Set<OWLAxiom> result = members;
+        if (result == null) {
+            Set<OWLAxiom> parentMembers = parent == null ? null : parent.members;
+            if (parentMembers != null) {
+                result = new HashSet<>(parentMembers);
+                result.addAll(appended);
+            } else {
+                result = new HashSet<>(this);
+            }
+            members = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Iterates the axioms of the chain in place, only the links of the chain are collected.
+     */
+    @Override
+    public Iterator<OWLAxiom> iterator() {
+        List<List<OWLAxiom>> parts = new ArrayList<>(length);
+        for (AxiomChain chain = this; chain != null; chain = chain.parent) {
+            parts.add(chain.appended);
+        }
+        Collections.reverse(parts);
+        return new Iterator<OWLAxiom>() {
+            private int part = 0;
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (part < parts.size() && index >= parts.get(part).size()) {
+                    part++;
+                    index = 0;
+                }
+                return part < parts.size();
+            }
+
+            @Override
+            public OWLAxiom next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return parts.get(part).get(index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package algorithms.hybrid;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense integer IDs of axioms, so that sets of axioms can be compared as bit sets instead of sets of OWLAPI objects.
+ * Abducibles and their complements get the lowest IDs, other axioms get an ID when they are first encoded.
+ * IDs can be read from several threads, new IDs are assigned under the lock of the dictionary.
+ */
+public class AxiomDictionary {
+
+    private final Map<OWLAxiom, Integer> ids = new ConcurrentHashMap<>();
+    private final List<OWLAxiom> axioms = new ArrayList<>();
+
+    public int getId(OWLAxiom axiom) {
+        Integer id = ids.get(axiom);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            return ids.computeIfAbsent(axiom, a -> {
+                axioms.add(a);
+                return axioms.size() - 1;
+            });
+        }
+    }
+
+    public synchronized OWLAxiom getAxiom(int id) {
+        return axioms.get(id);
+    }
+
+    /**
+     * @return axioms with IDs assigned so far, the ID of each axiom is its index
+     */
+    public synchronized List<OWLAxiom> getAxioms() {
+        return new ArrayList<>(axioms);
+    }
+
+    public synchronized int size() {
+        return axioms.size();
+    }
+
+    public BitSet toBitSet(Collection<OWLAxiom> axioms) {
+        BitSet set = new BitSet();
+        for (OWLAxiom axiom : axioms) {
+            set.set(getId(axiom));
+        }
+        return set;
+    }
+
+    /**
+     * @return sorted array of distinct IDs of the axioms
+     */
+    public int[] toSortedIds(Collection<OWLAxiom> axioms) {
+        return toBitSet(axioms).stream().toArray();
+    }
+
+    public List<OWLAxiom> toAxioms(BitSet set) {
+        List<OWLAxiom> result = new ArrayList<>(set.cardinality());
+        for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+            result.add(getAxiom(id));
+        }
+        return result;
+    }
+
+    public static boolean isSubset(BitSet subset, BitSet superset) {
+        BitSet difference = (BitSet) subset.clone();
+        difference.andNot(superset);
+        return difference.isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package algorithms.hybrid;
+
+import models.Explanation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+/**
+ * Prefers nodes whose label consists of axioms that occur often in the explanations found so far,
+ * as such axioms are likely to complete further explanations. Every axiom of the label lowers the depth
+ * of the node by a value between 0 and 1 that grows with the number of explanations containing the axiom.
+ */
+class AxiomUsefulnessPriority implements INodePriority {
+
+    private final IExplanationManager explanationManager;
+    private final Map<OWLAxiom, Integer> occurrences = new HashMap<>();
+    private List<Explanation> countedList;
+    private int countedExplanations = 0;
+
+    AxiomUsefulnessPriority(IExplanationManager explanationManager) {
+        this.explanationManager = explanationManager;
+    }
+
+    @Override
+    public double getPriority(ModelNode node) {
+        update(explanationManager.getPossibleExplanations());
+        double priority = node.depth;
+        for (OWLAxiom axiom : node.label) {
+            int count = occurrences.getOrDefault(axiom, 0);
+            priority -= count / (count + 1.0);
+        }
+        return priority;
+    }
+
+    // found explanations are only appended, unless the list is replaced
+    private void update(List<Explanation> explanations) {
+        if (explanations != countedList || explanations.size() < countedExplanations) {
+            occurrences.clear();
+            countedList = explanations;
+            countedExplanations = 0;
+        }
+        ListIterator<Explanation> appended = explanations.listIterator(countedExplanations);
+        while (appended.hasNext()) {
+            for (OWLAxiom axiom : appended.next().getOwlAxioms()) {
+                occurrences.merge(axiom, 1, Integer::sum);
+            }
+            countedExplanations++;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package algorithms.hybrid;
+
+import common.Configuration;
+import common.IPrinter;
+import models.Explanation;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Checkpoint of the breadth-first search, written whenever a level of the HS-tree is completed. It holds the nodes
+ * of the next level, the stored models, the possible explanations, the statistics of the set divider and the times
+ * of the completed levels, so the search can be resumed from that level instead of the root.
+ * Axioms are written once, in the OWL functional syntax, each annotated with its ID; everything else refers to them
+ * by their IDs. The solving thread only takes a snapshot of the state, it is encoded, compressed and written
+ * in the background into a temporary file, which replaces the checkpoint once it is complete.
+ */
+class Checkpoint {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final int END_OF_NODES = -1;
+    private static final IRI AXIOM_ID = IRI.create("urn:mhs-mxp:checkpoint#axiomId");
+
+    private final HybridSolver solver;
+    private final SetDivider setDivider;
+    private final IPrinter printer;
+    private final File file;
+    private final String input;
+    private ExecutorService writer;
+    private volatile Throwable failure;
+
+    Checkpoint(HybridSolver solver, SetDivider setDivider, IPrinter printer, String path) {
+        this.solver = solver;
+        this.setDivider = setDivider;
+        this.printer = printer;
+        this.file = new File(path);
+        this.input = solver.negObservation + ";" + Configuration.MHS_MODE;
+    }
+
+    /**
+     * Saves the state of the search at the start of the given level.
+     * @param frontier nodes of the level, in the order in which they are searched
+     */
+    void save(int depth, Iterable<TreeNode> frontier) {
+        Snapshot snapshot = new Snapshot(depth, frontier);
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor();
+        }
+        writer.execute(() -> write(snapshot));
+    }
+
+    /**
+     * Waits until the last checkpoint is written.
+     */
+    void close() {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            printer.logError("Could not write the checkpoint " + file + ": ", failure);
+        }
+    }
+
+    /**
+     * Restores the stored models, the possible explanations, the statistics of the set divider and the times of the
+     * completed levels, the nodes of the saved level are added to the queue.
+     * @return the level at which the search continues
+     */
+    int restore(Queue<TreeNode> queue) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new RuntimeException("Unsupported format of the checkpoint " + file);
+            }
+            if (!input.equals(in.readUTF())) {
+                throw new RuntimeException("The checkpoint " + file + " was written for a different observation or mode");
+            }
+            int depth = in.readInt();
+            Map<Integer, Double> levelTimes = new HashMap<>();
+            int levelCount = in.readInt();
+            for (int i = 0; i < levelCount; i++) {
+                levelTimes.put(in.readInt(), in.readDouble());
+            }
+            byte[] ontology = new byte[in.readInt()];
+            in.readFully(ontology);
+            readBody(in, decodeAxioms(ontology), queue);
+            solver.levelTimes.putAll(levelTimes);
+            return depth;
+        } catch (IOException | OWLOntologyCreationException e) {
+            throw new RuntimeException("Could not read the checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * State of the search taken by the solving thread. Models, labels and nodes are not changed once created,
+     * so only the lists are copied; the statistics of the set divider are small and encoded right away.
+     */
+    private class Snapshot {
+
+        final int depth;
+        final Map<Integer, Double> levelTimes = new HashMap<>(solver.levelTimes);
+        final List<ModelNode> models = new ArrayList<>(solver.models);
+        final List<ModelNode> negModels = new ArrayList<>(solver.negModels);
+        final List<Explanation> explanations = new ArrayList<>();
+        final List<ModelNode> frontier = new ArrayList<>();
+        final byte[] setDividerState;
+
+        Snapshot(int depth, Iterable<TreeNode> frontier) {
+            this.depth = depth;
+            for (Explanation explanation : solver.getExplanationManager().getPossibleExplanations()) {
+                explanations.add(new Explanation(explanation.getOwlAxioms(), explanation.getDepth(), explanation.getLevel(),
+                        explanation.getAcquireTime()));
+            }
+            for (TreeNode node : frontier) {
+                this.frontier.add((ModelNode) node);
+            }
+            ByteArrayOutputStream state = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(state)) {
+                setDivider.save(out, solver.axiomDictionary);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not encode the checkpoint " + file, e);
+            }
+            setDividerState = state.toByteArray();
+        }
+    }
+
+    private void write(Snapshot snapshot) {
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(body)) {
+                writeBody(out, snapshot);
+            }
+            // taken after the body, so that all IDs in it have their axiom
+            byte[] ontology = encodeAxioms(solver.axiomDictionary.getAxioms());
+
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(input);
+                out.writeInt(snapshot.depth);
+                out.writeInt(snapshot.levelTimes.size());
+                for (Map.Entry<Integer, Double> entry : snapshot.levelTimes.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeDouble(entry.getValue());
+                }
+                out.writeInt(ontology.length);
+                out.write(ontology);
+                body.writeTo(out);
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | OWLOntologyCreationException | OWLOntologyStorageException e) {
+            failure = e;
+        }
+    }
+
+    // every axiom is annotated with its ID, as the order of axioms in an ontology is not kept
+    private static byte[] encodeAxioms(List<OWLAxiom> axioms) throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+        OWLAnnotationProperty idProperty = dataFactory.getOWLAnnotationProperty(AXIOM_ID);
+        List<OWLAxiom> annotated = new ArrayList<>(axioms.size());
+        for (int id = 0; id < axioms.size(); id++) {
+            OWLAnnotation annotation = dataFactory.getOWLAnnotation(idProperty, dataFactory.getOWLLiteral(id));
+            annotated.add(axioms.get(id).getAnnotatedAxiom(Collections.singleton(annotation)));
+        }
+        OWLOntology ontology = ontologyManager.createOntology(annotated);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ontologyManager.saveOntology(ontology, new FunctionalSyntaxDocumentFormat(), out);
+        return out.toByteArray();
+    }
+
+    private static List<OWLAxiom> decodeAxioms(byte[] document) throws OWLOntologyCreationException {
+        OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology = ontologyManager.loadOntologyFromOntologyDocument(
+                new StringDocumentSource(new String(document, StandardCharsets.UTF_8)));
+        Map<Integer, OWLAxiom> axioms = new HashMap<>();
+        ontology.axioms().forEach(axiom -> {
+            List<OWLAnnotation> otherAnnotations = new ArrayList<>();
+            Integer id = null;
+            for (OWLAnnotation annotation : axiom.annotations().collect(Collectors.toList())) {
+                if (annotation.getProperty().getIRI().equals(AXIOM_ID)) {
+                    id = annotation.getValue().asLiteral().get().parseInteger();
+                } else {
+                    otherAnnotations.add(annotation);
+                }
+            }
+            // axioms without an ID, e.g. declarations added when the ontology was written, are not referred to
+            if (id != null) {
+                axioms.put(id, axiom.getAxiomWithoutAnnotations().getAnnotatedAxiom(otherAnnotations));
+            }
+        });
+        List<OWLAxiom> result = new ArrayList<>(Collections.nCopies(axioms.size(), null));
+        for (Map.Entry<Integer, OWLAxiom> entry : axioms.entrySet()) {
+            if (entry.getKey() >= result.size()) {
+                throw new RuntimeException("Missing axioms in the checkpoint");
+            }
+            result.set(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private void writeBody(DataOutput out, Snapshot snapshot) throws IOException {
+        out.writeInt(snapshot.models.size());
+        for (int i = 0; i < snapshot.models.size(); i++) {
+            writeAxioms(out, snapshot.models.get(i).data);
+            writeAxioms(out, snapshot.negModels.get(i).data);
+        }
+
+        out.writeInt(snapshot.explanations.size());
+        for (Explanation explanation : snapshot.explanations) {
+            writeAxioms(out, explanation.getOwlAxioms());
+            out.writeInt(explanation.getDepth() == null ? 0 : explanation.getDepth());
+            out.writeInt(explanation.getLevel() == null ? -1 : explanation.getLevel());
+            out.writeDouble(explanation.getAcquireTime());
+        }
+
+        out.write(snapshot.setDividerState);
+
+        for (ModelNode model : snapshot.frontier) {
+            out.writeInt(model.depth);
+            out.writeInt(model.modelIndex);
+            writeAxioms(out, model.label);
+            writeAxioms(out, model.lenghtOneExplanations);
+        }
+        out.writeInt(END_OF_NODES);
+    }
+
+    private void readBody(DataInput in, List<OWLAxiom> axioms, Queue<TreeNode> queue) throws IOException {
+        int modelCount = in.readInt();
+        for (int i = 0; i < modelCount; i++) {
+            ModelNode model = new ModelNode();
+            model.data = Collections.unmodifiableSet(new HashSet<>(readAxioms(in, axioms)));
+            ModelNode negModel = new ModelNode();
+            negModel.data = Collections.unmodifiableSet(new HashSet<>(readAxioms(in, axioms)));
+            solver.modelStore.add(model, negModel);
+        }
+
+        int explanationCount = in.readInt();
+        List<Explanation> explanations = new ArrayList<>(explanationCount);
+        for (int i = 0; i < explanationCount; i++) {
+            List<OWLAxiom> explanationAxioms = readAxioms(in, axioms);
+            int explanationDepth = in.readInt();
+            int level = in.readInt();
+            explanations.add(new Explanation(explanationAxioms, explanationDepth, level, in.readDouble()));
+        }
+        solver.getExplanationManager().setPossibleExplanations(explanations);
+
+        setDivider.restore(in, axioms);
+
+        int depth;
+        while ((depth = in.readInt()) != END_OF_NODES) {
+            ModelNode node = new ModelNode();
+            node.depth = depth;
+            node.modelIndex = in.readInt();
+            node.data = solver.negModels.get(node.modelIndex).data;
+            node.label = AxiomChain.EMPTY.appendAll(readAxioms(in, axioms));
+            node.addLengthOneExplanations(readAxioms(in, axioms));
+            queue.add(node);
+        }
+    }
+
+    private void writeAxioms(DataOutput out, Collection<OWLAxiom> axioms) throws IOException {
+        out.writeInt(axioms.size());
+        for (OWLAxiom axiom : axioms) {
+            out.writeInt(solver.axiomDictionary.getId(axiom));
+        }
+    }
+
+    private static List<OWLAxiom> readAxioms(DataInput in, List<OWLAxiom> axioms) throws IOException {
+        int size = in.readInt();
+        List<OWLAxiom> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(axioms.get(in.readInt()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package algorithms.hybrid;
+
+import algorithms.hybrid.ModelExtractor.ExtractedModel;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import reasoner.IReasonerManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Path, reasoner and model extractor used by one branch of the conflict search.
+ * The solving thread records models in the solver directly. Branches searched in parallel collect their models
+ * instead, and the models are recorded after the branches are joined, in the order of the sequential search.
+ */
+class ConflictContext {
+
+    final Set<OWLAxiom> path;
+    final IReasonerManager reasonerManager;
+    private final ModelExtractor modelExtractor;
+    private final List<ExtractedModel> models;
+
+    private ConflictContext(Set<OWLAxiom> path, IReasonerManager reasonerManager, ModelExtractor modelExtractor, List<ExtractedModel> models) {
+        this.path = path;
+        this.reasonerManager = reasonerManager;
+        this.modelExtractor = modelExtractor;
+        this.models = models;
+    }
+
+    static ConflictContext of(Set<OWLAxiom> path, IReasonerManager reasonerManager, ModelExtractor modelExtractor) {
+        return new ConflictContext(path, reasonerManager, modelExtractor, null);
+    }
+
+    /**
+     * Branch searched by the same thread after a parallel branch was forked.
+     */
+    ConflictContext collecting() {
+        return new ConflictContext(path, reasonerManager, modelExtractor, new ArrayList<>());
+    }
+
+    /**
+     * Branch searched on a pooled reasoner, with its own copy of the path.
+     */
+    ConflictContext onWorker(IReasonerManager worker) {
+        return new ConflictContext(new HashSet<>(path), worker, modelExtractor.forWorker(worker), new ArrayList<>());
+    }
+
+    boolean isRecordingModels() {
+        return models == null;
+    }
+
+    boolean isOntologyConsistent(Set<OWLAxiom> assumptions) {
+        if (models == null) {
+            return modelExtractor.getNegModelByOntology(assumptions).modelIsValid;
+        }
+        modelExtractor.removeNegObservation(assumptions);
+        ExtractedModel extracted = modelExtractor.extractModel(assumptions);
+        if (extracted.isValid()) {
+            models.add(extracted);
+        }
+        return extracted.isValid();
+    }
+
+    void addModelsOf(ConflictContext branch) {
+        if (models == null) {
+            branch.models.forEach(modelExtractor::recordModel);
+        } else {
+            models.addAll(branch.models);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package algorithms.hybrid;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.Collection;
+
+/**
+ * Verdicts of consistency probes (sets of assertions added to the original ontology).
+ * Consistency is monotone, so a probe is inconsistent if a stored inconsistent set is its subset
+ * and consistent if a stored consistent set is its superset.
+ * The index is shared by the extractors of pooled reasoners, so its methods are synchronized.
+ */
+public class ConsistencyIndex {
+
+    private final int capacity;
+    private final AxiomDictionary dictionary;
+    private final SetTrie inconsistentSets;
+    private final SetTrie consistentSets;
+    private long hits = 0;
+    private long misses = 0;
+
+    public ConsistencyIndex(int capacity, AxiomDictionary dictionary) {
+        this(capacity, dictionary, new SetTrie(), new SetTrie());
+    }
+
+    private ConsistencyIndex(int capacity, AxiomDictionary dictionary, SetTrie inconsistentSets, SetTrie consistentSets) {
+        this.capacity = capacity;
+        this.dictionary = dictionary;
+        this.inconsistentSets = inconsistentSets;
+        this.consistentSets = consistentSets;
+    }
+
+    /**
+     * @return the known verdict for the assumptions, or null if it cannot be derived from the stored sets
+     */
+    public synchronized Boolean getVerdict(Collection<OWLAxiom> assumptions) {
+        if (capacity <= 0) {
+            return null;
+        }
+        int[] set = dictionary.toSortedIds(assumptions);
+        if (inconsistentSets.containsSubsetOf(set)) {
+            hits++;
+            return false;
+        }
+        if (consistentSets.containsSupersetOf(set)) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return null;
+    }
+
+    public synchronized void addVerdict(Collection<OWLAxiom> assumptions, boolean isConsistent) {
+        if (capacity <= 0) {
+            return;
+        }
+        int[] set = dictionary.toSortedIds(assumptions);
+        if (isConsistent) {
+            if (consistentSets.size() < capacity && !consistentSets.containsSupersetOf(set)) {
+                consistentSets.add(set);
+            }
+        } else {
+            if (inconsistentSets.size() < capacity && !inconsistentSets.containsSubsetOf(set)) {
+                inconsistentSets.add(set);
+            }
+        }
+    }
+
+    /**
+     * @return a new index with the verdicts of this one, later verdicts of either of them do not affect the other
+     */
+    public synchronized ConsistencyIndex copy() {
+        return new ConsistencyIndex(capacity, dictionary, new SetTrie(inconsistentSets), new SetTrie(consistentSets));
+    }
+
+    /**
+     * @return a new index with only the inconsistent sets of this one, which stay inconsistent when axioms are added
+     * to the ontology
+     */
+    public synchronized ConsistencyIndex copyInconsistentSets() {
+        return new ConsistencyIndex(capacity, dictionary, new SetTrie(inconsistentSets), new SetTrie());
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Consistency index: " + hits + " hits, " + misses + " misses, "
+                + inconsistentSets.size() + " inconsistent and " + consistentSets.size() + " consistent sets";
+    }
+}
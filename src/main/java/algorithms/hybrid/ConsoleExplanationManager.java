@@ -16,6 +16,7 @@ public class ConsoleExplanationManager extends ExplanationManager {
     @Override
     public void addPossibleExplanation(Explanation explanation) {
         possibleExplanations.add(explanation);
+        verifyInBackground(explanation);
     }
 
     @Override
@@ -0,0 +1,43 @@
+package algorithms.hybrid;
+
+import models.Explanation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Set-trie of explanations, it answers whether some of them is a subset of a given set of axioms.
+ * The index follows a list of explanations: lists of found explanations only grow, so on every query
+ * only the explanations appended since the previous one are indexed. Another list is indexed from scratch.
+ */
+class ExplanationIndex {
+
+    private final AxiomDictionary dictionary;
+    private SetTrie explanations = new SetTrie();
+    private List<Explanation> indexedList;
+    private int indexedCount = 0;
+
+    ExplanationIndex(AxiomDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    boolean containsSubsetOf(List<Explanation> explanationList, Collection<OWLAxiom> axioms) {
+        update(explanationList);
+        return explanations.containsSubsetOf(dictionary.toSortedIds(axioms));
+    }
+
+    private void update(List<Explanation> explanationList) {
+        if (explanationList != indexedList || explanationList.size() < indexedCount) {
+            explanations = new SetTrie();
+            indexedList = explanationList;
+            indexedCount = 0;
+        }
+        ListIterator<Explanation> appended = explanationList.listIterator(indexedCount);
+        while (appended.hasNext()) {
+            explanations.add(dictionary.toSortedIds(appended.next().getOwlAxioms()));
+            indexedCount++;
+        }
+    }
+}
@@ -15,10 +15,11 @@ import reasoner.IReasonerManager;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public abstract class ExplanationManager implements IExplanationManager {
@@ -31,6 +32,8 @@ public abstract class ExplanationManager implements IExplanationManager {
     private final IReasonerManager reasonerManager;
     private final IRuleChecker checkRules;
     protected IPrinter printer;
+    private ExplanationIndex finalExplanationIndex;
+    private AnytimeVerifier anytimeVerifier;
 
     public ExplanationManager(ILoader loader, IReasonerManager reasonerManager){
         this.loader = loader;
@@ -49,6 +52,29 @@ public abstract class ExplanationManager implements IExplanationManager {
         possibleExplanations.forEach(this::addPossibleExplanation);
     }
 
+    /**
+     * In the anytime mode, the possible explanation is verified in the background.
+     */
+    protected void verifyInBackground(Explanation explanation) {
+        if (!Configuration.ANYTIME) {
+            return;
+        }
+        if (anytimeVerifier == null) {
+            anytimeVerifier = new AnytimeVerifier(this, loader, solver);
+        }
+        anytimeVerifier.submit(explanation);
+    }
+
+    /**
+     * @return explanations confirmed by the anytime verification since the last call
+     */
+    protected List<Explanation> takeConfirmedExplanations() {
+        if (anytimeVerifier == null) {
+            return Collections.emptyList();
+        }
+        return anytimeVerifier.takeUnpublished();
+    }
+
     @Override
     public List<Explanation> getPossibleExplanations() {
         return possibleExplanations;
@@ -79,10 +105,17 @@ public abstract class ExplanationManager implements IExplanationManager {
         return lengthOneExplanations.size();
     }
 
+    @Override
+    public List<Explanation> getFinalExplanations() {
+        return finalExplanations == null ? Collections.emptyList() : finalExplanations;
+    }
+
     @Override
     public void showExplanations() throws OWLOntologyStorageException, OWLOntologyCreationException {
         List<Explanation> filteredExplanations;
-        if(Configuration.MHS_MODE){
+        if(anytimeVerifier != null){
+            filteredExplanations = anytimeVerifier.finish();
+        } else if(Configuration.MHS_MODE){
             filteredExplanations = possibleExplanations;
         } else {
             filteredExplanations = getConsistentExplanations();
@@ -104,21 +137,59 @@ public abstract class ExplanationManager implements IExplanationManager {
     }
 
     private List<Explanation> getConsistentExplanations() throws OWLOntologyStorageException {
-        reasonerManager.resetOntology(loader.getInitialOntology().axioms());
+        if (Configuration.REASONER_POOL_SIZE > 1) {
+            return getConsistentExplanationsInParallel();
+        }
+        reasonerManager.resetOntologyToInitial();
 
         List<Explanation> filteredExplanations = new ArrayList<>();
         for (Explanation explanation : possibleExplanations) {
             if (isExplanation(explanation)) {
-                if (reasonerManager.isOntologyWithLiteralsConsistent(explanation.getOwlAxioms(), loader.getInitialOntology())) {
+                if (reasonerManager.isOntologyWithLiteralsConsistent(explanation.getOwlAxioms())) {
                     filteredExplanations.add(explanation);
                 }
             }
         }
 
-        reasonerManager.resetOntology(loader.getOriginalOntology().axioms());
+        reasonerManager.resetOntologyToOriginal();
         return filteredExplanations;
     }
 
+    private List<Explanation> getConsistentExplanationsInParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(Configuration.REASONER_POOL_SIZE);
+        try {
+            List<Explanation> candidates = new ArrayList<>();
+            List<Future<Boolean>> verdicts = new ArrayList<>();
+            for (Explanation explanation : possibleExplanations) {
+                if (isExplanation(explanation)) {
+                    candidates.add(explanation);
+                    verdicts.add(executor.submit(() -> isConsistentWithInitialOntology(explanation)));
+                }
+            }
+            List<Explanation> filteredExplanations = new ArrayList<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                if (verdicts.get(i).get()) {
+                    filteredExplanations.add(candidates.get(i));
+                }
+            }
+            return filteredExplanations;
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Checking consistency of explanations failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isConsistentWithInitialOntology(Explanation explanation) throws OWLOntologyStorageException {
+        IReasonerManager worker = reasonerManager.lease();
+        try {
+            worker.resetOntologyToInitial();
+            return worker.isOntologyWithLiteralsConsistent(explanation.getOwlAxioms());
+        } finally {
+            reasonerManager.release(worker);
+        }
+    }
+
     @Override
     public void showError(Throwable e) {
         StringWriter result = new StringWriter();
@@ -146,11 +217,14 @@ public abstract class ExplanationManager implements IExplanationManager {
         int depth = 1;
         while (filteredExplanations.size() > 0) {
             List<Explanation> currentExplanations = removeExplanationsWithDepth(filteredExplanations, depth);
-            if(!Configuration.MHS_MODE){
+            // explanations verified in the anytime mode are final
+            if(anytimeVerifier == null && !Configuration.MHS_MODE){
                 if(!Configuration.CHECKING_MINIMALITY_BY_QXP){
                     filterIfNotMinimal(currentExplanations);
                 }
                 filterIfNotRelevant(currentExplanations);
+            } else if (anytimeVerifier == null && Configuration.SEARCH_MODE == SearchMode.BEST_FIRST){
+                filterIfNotMinimal(currentExplanations);
             }
             if (currentExplanations.isEmpty()) {
                 depth++;
@@ -192,15 +266,10 @@ public abstract class ExplanationManager implements IExplanationManager {
     }
 
     private void filterIfNotMinimal(List<Explanation> explanations){
-        List<Explanation> notMinimalExplanations = new LinkedList<>();
-        for (Explanation e: explanations){
-            for (Explanation m: finalExplanations){
-                if (e.getOwlAxioms().containsAll(m.getOwlAxioms())){
-                    notMinimalExplanations.add(e);
-                }
-            }
+        if (finalExplanationIndex == null) {
+            finalExplanationIndex = new ExplanationIndex(solver.axiomDictionary);
         }
-        explanations.removeAll(notMinimalExplanations);
+        explanations.removeIf(e -> finalExplanationIndex.containsSubsetOf(finalExplanations, e.getOwlAxioms()));
     }
 
     private void filterIfNotRelevant(List<Explanation> explanations) throws OWLOntologyCreationException {
@@ -246,7 +315,7 @@ public abstract class ExplanationManager implements IExplanationManager {
 
 
 
-    private boolean isExplanation(Explanation explanation) {
+    boolean isExplanation(Explanation explanation) {
 
         //ROLY - bude to containsNegation fungovat???
 
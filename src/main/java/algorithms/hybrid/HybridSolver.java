@@ -9,14 +9,19 @@ import models.Abducibles;
 import models.Explanation;
 import models.Axioms;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
+import org.semanticweb.owlapi.reasoner.TimeOutException;
 
 import progress.IProgressManager;
 import reasoner.AxiomManager;
 import reasoner.ILoader;
 import reasoner.IReasonerManager;
+import timer.Deadline;
 import timer.ThreadTimes;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Base = knowledgeBase + negObservation
@@ -32,24 +37,37 @@ public class HybridSolver implements ISolver {
     private final IExplanationManager explanationManager;
     private final IProgressManager progressManager;
     private SetDivider setDivider;
-    private Set<Set<OWLAxiom>> pathsInCertainDepth = new HashSet<>();
+    private Set<BitSet> pathsInCertainDepth = new HashSet<>();
+    AxiomDictionary axiomDictionary = new AxiomDictionary();
 
     public OWLOntology ontology;
     public List<ModelNode> models;
     public List<ModelNode> negModels;
+    ModelStore modelStore;
     public List<OWLAxiom> assertionsAxioms;
     public List<OWLAxiom> negAssertionsAxioms;
     public Set<OWLAxiom> path = new HashSet<>();
-    public Set<OWLAxiom> pathDuringCheckingMinimality;
     public Abducibles abducibles;
     public int lastUsableModelIndex;
     public OWLAxiom negObservation;
     public ThreadTimes threadTimes;
+    private Deadline deadline;
     public long currentTimeMillis;
     public Map<Integer, Double> levelTimes = new HashMap<>();
-    public boolean checkingMinimalityWithQXP = false;
     private IRuleChecker ruleChecker;
     private Integer currentDepth;
+    private ModelPrefetcher prefetcher;
+    private SpillingNodeQueue spillingQueue;
+    private Checkpoint checkpoint;
+    private final IPrinter printer;
+    private INodePriority nodePriority;
+    private ForkJoinPool conflictPool;
+    private boolean incremental = false;
+    private IncrementalState previousRun;
+    private IncrementalState currentRun;
+    private List<Explanation> reusedExplanations = Collections.emptyList();
+    private String reuseInfo;
+    private KnowledgeBaseIndex knowledgeBaseIndex;
 
     public HybridSolver(ThreadTimes threadTimes,
                         IExplanationManager explanationManager, IProgressManager progressManager, IPrinter printer) {
@@ -63,6 +81,7 @@ public class HybridSolver implements ISolver {
         explanationManager.setSolver(this);
 
         this.progressManager = progressManager;
+        this.printer = printer;
 
         this.threadTimes = threadTimes;
         this.currentTimeMillis = System.currentTimeMillis();
@@ -72,6 +91,48 @@ public class HybridSolver implements ISolver {
         return explanationManager;
     }
 
+    /**
+     * Sets the priority of nodes used by the best-first search instead of {@link Configuration#NODE_PRIORITY}.
+     */
+    public void setNodePriority(INodePriority nodePriority){
+        this.nodePriority = nodePriority;
+    }
+
+    /**
+     * Makes the solver keep the state of its run for the next one, and reuse what is still valid from the given run.
+     * Has to be called before solving.
+     * @param previousRun state of the previous run on a similar input, or null
+     */
+    public void setIncremental(IncrementalState previousRun){
+        this.incremental = true;
+        this.previousRun = previousRun;
+        if (previousRun != null) {
+            axiomDictionary = previousRun.dictionary;
+        }
+    }
+
+    /**
+     * @return state of the run for the next incremental run, or null if the solver is not incremental
+     */
+    public IncrementalState getIncrementalState(){
+        return currentRun;
+    }
+
+    /**
+     * Makes the solver reuse the index of an earlier run, if it is of the same knowledge base.
+     * Has to be called before solving.
+     */
+    public void setKnowledgeBaseIndex(KnowledgeBaseIndex knowledgeBaseIndex){
+        this.knowledgeBaseIndex = knowledgeBaseIndex;
+    }
+
+    /**
+     * @return index of the knowledge base used by the run, or null if no model was extracted
+     */
+    public KnowledgeBaseIndex getKnowledgeBaseIndex(){
+        return knowledgeBaseIndex;
+    }
+
     public List<String> getInfo() {
         String optimizationQXP = "Optimization QXP: " + Configuration.CHECKING_MINIMALITY_BY_QXP;
         String optimizationLongestConf = "Optimization Cached Conflicts - The Longest Conflict: " + Configuration.CACHED_CONFLICTS_LONGEST_CONFLICT;
@@ -85,9 +146,30 @@ public class HybridSolver implements ISolver {
         if (Configuration.DEPTH != null) depth += Configuration.DEPTH; else depth += "none";
         String timeout = "Timeout: ";
         if (Configuration.TIMEOUT != null) timeout += Configuration.TIMEOUT; else timeout += "none";
-
-        return Arrays.asList(optimizationQXP, optimizationLongestConf, optimizationMedian,
-                roles, looping, negation, mhs_mode, relevance, depth, timeout);
+        String cacheSize = "Consistency cache size: " + Configuration.CONSISTENCY_CACHE_SIZE;
+        String threads = "Threads: " + Configuration.REASONER_POOL_SIZE;
+        String reasoner = "Reasoner: " + Configuration.REASONER;
+        String search = "Search: " + Configuration.SEARCH_MODE;
+        if (Configuration.SEARCH_MODE == SearchMode.BEST_FIRST) search += ", priority: " + (nodePriority == null ? Configuration.NODE_PRIORITY : nodePriority.getClass().getSimpleName());
+
+        List<String> info = new ArrayList<>(Arrays.asList(optimizationQXP, optimizationLongestConf, optimizationMedian,
+                roles, looping, negation, mhs_mode, relevance, depth, timeout, cacheSize, threads, reasoner, search));
+        if (reasonerManager != null) {
+            info.addAll(reasonerManager.getStatistics());
+        }
+        if (modelExtractor != null) {
+            info.add(modelExtractor.getConsistencyIndex().toString());
+        }
+        if (prefetcher != null) {
+            info.add(prefetcher.toString());
+        }
+        if (spillingQueue != null) {
+            info.add("Nodes spilled to disk: " + spillingQueue.getSpilledTotal());
+        }
+        if (reuseInfo != null) {
+            info.add(reuseInfo);
+        }
+        return info;
     }
 
     @Override
@@ -95,44 +177,153 @@ public class HybridSolver implements ISolver {
         this.loader = loader;
         this.reasonerManager = reasonerManager;
         this.ontology = this.loader.getOriginalOntology();
+        negObservation = loader.getNegObservation().getOwlAxiom();
+        this.abducibles = loader.getAbducibles();
+        if (incremental) {
+            currentRun = new IncrementalState(axiomDictionary, loader.getInitialAxioms(), negObservation, IncrementalState.currentSwitches());
+        }
+
         this.modelExtractor = new ModelExtractor(loader, reasonerManager, this);
         this.setDivider = new SetDivider(this);
-        this.ruleChecker = new RuleChecker(loader, reasonerManager);
+        this.ruleChecker = new RuleChecker(loader, reasonerManager, modelExtractor.getConsistencyIndex(), axiomDictionary);
 
-        negObservation = loader.getNegObservation().getOwlAxiom();
-        this.abducibles = loader.getAbducibles();
+        if (Configuration.TIMEOUT != null) {
+            deadline = threadTimes.setDeadline(Configuration.TIMEOUT);
+        }
 
-        initialize();
+        try {
+            initialize();
+            registerLiterals();
+            if (currentRun != null) {
+                currentRun.literals = new HashSet<>(abd_literals.getAxiomSet());
+                reusePreviousRun();
+            }
 
-        String message = null;
+            String message = null;
 
-        if (!reasonerManager.isOntologyConsistent()) {
-            message = "The observation is already entailed!";
-            explanationManager.processExplanations(message);
-        }
+            if (!reasonerManager.isOntologyConsistent()) {
+                message = "The observation is already entailed!";
+                explanationManager.processExplanations(message);
+            }
 
-        else {
-            reasonerManager.isOntologyWithLiteralsConsistent(abd_literals.getAxiomSet(), ontology);
-            trySolve();
+            else {
+                reasonerManager.isOntologyWithLiteralsConsistent(abd_literals.getAxiomSet());
+                trySolve();
+            }
+        } finally {
+            if (currentRun != null) {
+                recordRun();
+            }
         }
         //trySolve();
         if (Configuration.PRINT_PROGRESS)
             progressManager.updateProgress(100, "Abduction finished.");
     }
 
+    /**
+     * Index of the original ontology of this run, on top of the index of the knowledge base given to the solver
+     * if it is of the same knowledge base, or of a new one.
+     * @param addedAxioms axioms of the original ontology that are not among the initial axioms
+     */
+    synchronized KnowledgeBaseIndex createKnowledgeBaseIndex(Collection<OWLAxiom> addedAxioms) {
+        Set<OWLAxiom> initialAxioms = loader.getInitialAxioms();
+        if (knowledgeBaseIndex == null || !knowledgeBaseIndex.isFor(initialAxioms)) {
+            knowledgeBaseIndex = new KnowledgeBaseIndex(initialAxioms);
+        }
+        return knowledgeBaseIndex.withAddedAxioms(addedAxioms);
+    }
+
+    /**
+     * Consistency verdicts of the previous incremental run that are still valid, or a new index.
+     */
+    ConsistencyIndex createConsistencyIndex() {
+        if (previousRun != null && currentRun != null) {
+            ConsistencyIndex index = previousRun.getConsistencyIndexFor(currentRun);
+            if (index != null) {
+                return index;
+            }
+        }
+        return new ConsistencyIndex(Configuration.CONSISTENCY_CACHE_SIZE, axiomDictionary);
+    }
+
+    private void reusePreviousRun() {
+        if (previousRun == null) {
+            reuseInfo = "Incremental run: nothing reused";
+            return;
+        }
+        int reusedModels = 0;
+        if (previousRun.hasModelsFor(currentRun)) {
+            for (int i = 0; i < previousRun.models.size(); i++) {
+                modelStore.add(previousRun.models.get(i), previousRun.negModels.get(i));
+            }
+            reusedModels = models.size();
+        }
+        reusedExplanations = new ArrayList<>();
+        for (Explanation explanation : previousRun.getExplanationsFor(currentRun)) {
+            reusedExplanations.add(new Explanation(explanation.getOwlAxioms(), explanation.getDepth(), 0, 0));
+        }
+        String verdicts = previousRun.consistencyIndex == null ? "none"
+                : previousRun.hasSameKnowledgeBase(currentRun) ? "all"
+                : previousRun.hasKnowledgeBaseExtendedBy(currentRun) ? "inconsistent" : "none";
+        reuseInfo = "Incremental run: reused consistency verdicts: " + verdicts + ", models: " + reusedModels
+                + ", explanations: " + reusedExplanations.size();
+    }
+
+    private void recordRun() {
+        if (models != null) {
+            currentRun.models = models;
+            currentRun.negModels = negModels;
+        }
+        currentRun.explanations = new ArrayList<>(explanationManager.getFinalExplanations());
+        currentRun.consistencyIndex = modelExtractor.getConsistencyIndex();
+    }
+
     private void trySolve() throws OWLOntologyStorageException, OWLOntologyCreationException {
         String message = null;
+        // reasoner calls running when the timeout expires are aborted, but not those of the final filtering
+        Runnable interruptReasoners = reasonerManager::interrupt;
+        if (deadline != null) {
+            deadline.onExpiry(interruptReasoners);
+        }
         try {
             startSolving();
         } catch (Throwable e) {
-            makeErrorAndPartialLog(e);
-            message = "An error occured!";
-            throw e;
+            if (isTimeout() && isInterruption(e)) {
+                makeTimeoutPartialLog();
+            } else {
+                makeErrorAndPartialLog(e);
+                message = "An error occured!";
+                throw e;
+            }
         } finally {
+            if (deadline != null) {
+                deadline.cancelExpiryAction(interruptReasoners);
+            }
+            if (prefetcher != null) {
+                prefetcher.shutdown();
+            }
+            if (spillingQueue != null) {
+                spillingQueue.close();
+            }
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+            if (conflictPool != null) {
+                conflictPool.shutdownNow();
+            }
             explanationManager.processExplanations(message);
         }
     }
 
+    private static boolean isInterruption(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ReasonerInterruptedException || cause instanceof TimeOutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void makeErrorAndPartialLog(Throwable e) {
         explanationManager.showError(e);
 
@@ -148,6 +339,7 @@ public class HybridSolver implements ISolver {
     private void initialize() {
         models = new ArrayList<>();
         negModels = new ArrayList<>();
+        modelStore = new ModelStore(axiomDictionary, models, negModels);
 
         assertionsAxioms = new ArrayList<>();
         negAssertionsAxioms = new ArrayList<>();
@@ -216,24 +408,86 @@ public class HybridSolver implements ISolver {
         abd_literals = new Axioms(to_abd);
     }
 
+    // abducibles and their complements get the lowest IDs
+    private void registerLiterals() {
+        for (OWLAxiom literal : abd_literals.getAxiomSet()) {
+            axiomDictionary.getId(literal);
+            OWLAxiom complement = AxiomManager.getComplementOfOWLAxiom(loader, literal);
+            if (complement != null) {
+                axiomDictionary.getId(complement);
+            }
+        }
+    }
+
     private void startSolving() throws OWLOntologyCreationException {
         if (Configuration.PRINT_PROGRESS)
             progressManager.updateProgress(0, "Abduction initialized.");
         currentDepth = 0;
 
-        Queue<TreeNode> queue = new LinkedList<>();
-        initializeTree(queue);
+        if (Configuration.REASONER_POOL_SIZE > 1) {
+            prefetcher = new ModelPrefetcher(this, modelExtractor, reasonerManager, Configuration.MHS_MODE);
+            modelExtractor.setPrefetcher(prefetcher);
+        }
+
+        Queue<TreeNode> queue;
+        if (Configuration.SEARCH_MODE == SearchMode.BEST_FIRST) {
+            queue = new PriorityNodeQueue(nodePriority == null ? createNodePriority(Configuration.NODE_PRIORITY) : nodePriority);
+        } else if (Configuration.SEARCH_MODE == SearchMode.BFS && Configuration.FRONTIER_MEMORY_LIMIT > 0) {
+            spillingQueue = new SpillingNodeQueue(axiomDictionary, negModels, Configuration.FRONTIER_MEMORY_LIMIT);
+            queue = spillingQueue;
+        } else {
+            queue = new LinkedList<>();
+        }
+        if (Configuration.SEARCH_MODE == SearchMode.BFS && Configuration.CHECKPOINT_FILE != null) {
+            checkpoint = new Checkpoint(this, setDivider, printer, Configuration.CHECKPOINT_FILE);
+        }
+        if (Configuration.SEARCH_MODE == SearchMode.BFS && Configuration.RESUME_FILE != null) {
+            currentDepth = new Checkpoint(this, setDivider, printer, Configuration.RESUME_FILE).restore(queue);
+        } else {
+            initializeTree(queue);
+        }
 
         if(isTimeout()) {
             makeTimeoutPartialLog();
             return;
         }
 
+        if (Configuration.SEARCH_MODE == SearchMode.IDDFS) {
+            if (!queue.isEmpty()) {
+                searchIteratively((ModelNode) queue.poll());
+            }
+        } else if (Configuration.SEARCH_MODE == SearchMode.BEST_FIRST) {
+            searchBestFirst(queue);
+        } else {
+            searchByLevels(queue);
+        }
+        path.clear();
+
+        if(Configuration.SEARCH_MODE != SearchMode.BEST_FIRST && !levelTimes.containsKey(currentDepth)){
+            makePartialLog();
+        }
+        currentDepth = 0;
+    }
+
+    private void searchByLevels(Queue<TreeNode> queue) throws OWLOntologyCreationException {
+        if (prefetcher != null) {
+            prefetchLevel(queue);
+        }
+
         while (!queue.isEmpty()) {
             TreeNode node = queue.poll();
 
             if(increaseDepth(node)){
                 currentDepth++;
+                if (checkpoint != null) {
+                    checkpoint.save(currentDepth, Iterables.concat(Collections.singletonList(node), queue));
+                }
+                if (prefetcher != null) {
+                    List<TreeNode> level = new ArrayList<>();
+                    level.add(node);
+                    level.addAll(spillingQueue == null ? queue : spillingQueue.getNodesInMemory());
+                    prefetchLevel(level);
+                }
             }
             if(isTimeout() || !ModelNode.class.isAssignableFrom(node.getClass())){
                 makeTimeoutPartialLog();
@@ -249,73 +503,187 @@ public class HybridSolver implements ISolver {
                 break;
             }
 
-            for (OWLAxiom child : model.data){
+            if (!expandNode(queue, model)) {
+                makeTimeoutPartialLog();
+                return;
+            }
+        }
+    }
 
+    /**
+     * Iterative deepening: the tree is searched depth-first, every time one level deeper, so only the branch
+     * being searched is kept in memory. Levels are still completed in increasing order and logged as in the
+     * breadth-first search. Nodes of the levels searched before are created again. With reuse of models, their
+     * paths and those of their conflicts are answered by the stored models (see {@link ModelExtractor#getNegModelByOntology(Set)})
+     * and inconsistent ones by the consistency index instead of the reasoner.
+     */
+    private void searchIteratively(ModelNode root) throws OWLOntologyCreationException {
+        for (int limit = 1; Configuration.DEPTH == null || limit <= Configuration.DEPTH; limit++) {
+            boolean deeperNodes = false;
+            Queue<TreeNode> stack = Collections.asLifoQueue(new ArrayDeque<>());
+            stack.add(root);
+
+            while (!stack.isEmpty()) {
                 if(isTimeout()){
                     makeTimeoutPartialLog();
                     return;
                 }
-
-                //ak je axiom negaciou axiomu na ceste k vrcholu, alebo
-                //ak axiom nie je v abducibles
-                //nepokracujeme vo vetve
-                if(isIncorrectPath(model, child)){
+                ModelNode model = (ModelNode) stack.poll();
+                if (model.depth == limit) {
+                    deeperNodes = true;
                     continue;
                 }
+                if (prefetcher != null && model.depth == limit - 1) {
+                    prefetchLevel(Collections.singletonList(model));
+                }
+                if (!expandNode(stack, model)) {
+                    makeTimeoutPartialLog();
+                    return;
+                }
+            }
 
-                //rovno pridame potencialne vysvetlenie
-                Explanation explanation = new Explanation();
-                explanation.addAxioms(model.label);
-                explanation.addAxiom(child);
-                explanation.setAcquireTime(threadTimes.getTotalUserTimeInSec());
-                explanation.setLevel(currentDepth);
+            if (!deeperNodes) {
+                return;
+            }
+            makePartialLog();
+            if (Configuration.PRINT_PROGRESS)
+                progressManager.updateProgress(currentDepth, threadTimes.getTotalUserTimeInSec());
+            currentDepth = limit;
+        }
+    }
 
-                path = new HashSet<>(explanation.getOwlAxioms());
+    /**
+     * Best-first search: the node with the lowest priority is expanded first, whatever its depth.
+     * Explanations may be found before their subsets, non-minimal ones are filtered out when they are shown.
+     * Levels are not completed in order, so the partial logs of all depths are written when the search ends.
+     */
+    private void searchBestFirst(Queue<TreeNode> queue) throws OWLOntologyCreationException {
+        int deepest = 0;
+        boolean timeout = false;
+        while (!queue.isEmpty()) {
+            if(isTimeout()){
+                timeout = true;
+                break;
+            }
+            ModelNode model = (ModelNode) queue.poll();
+            if (model.depth.equals(Configuration.DEPTH)) {
+                continue;
+            }
+            currentDepth = model.depth;
+            deepest = Math.max(deepest, model.depth + 1);
+            if (prefetcher != null) {
+                prefetchLevel(Collections.singletonList(model));
+            }
+            if (!expandNode(queue, model)) {
+                timeout = true;
+                break;
+            }
+        }
+        currentDepth = deepest;
 
-                if(canBePruned(explanation)){
-                    path.clear();
-                    continue;
-                }
+        Double time = threadTimes.getTotalUserTimeInSec();
+        for (int depth = 0; depth <= deepest; depth++) {
+            explanationManager.logExplanationsWithDepth(depth, timeout, false, time);
+            if(!Configuration.MHS_MODE){
+                explanationManager.logExplanationsWithLevel(depth, timeout, false, time);
+            }
+        }
+    }
 
-                if (!Configuration.REUSE_OF_MODELS || !usableModelInModels()) {
-                    if(isTimeout()){
-                        makeTimeoutPartialLog();
-                        return;
+    private INodePriority createNodePriority(NodePriority priority) {
+        switch (priority) {
+            case MODEL:
+                return node -> node.data.size();
+            case USEFULNESS:
+                return new AxiomUsefulnessPriority(explanationManager);
+            default:
+                return node -> node.depth;
+        }
+    }
+
+    /**
+     * Processes the children of the node and adds those that have to be searched further to the queue.
+     * @return false if the search was interrupted by the timeout, the caller writes the partial log
+     */
+    private boolean expandNode(Queue<TreeNode> queue, ModelNode model) throws OWLOntologyCreationException {
+        for (OWLAxiom child : model.data){
+
+            if(isTimeout()){
+                return false;
+            }
+
+            //ak je axiom negaciou axiomu na ceste k vrcholu, alebo
+            //ak axiom nie je v abducibles
+            //nepokracujeme vo vetve
+            if(isIncorrectPath(model, child)){
+                continue;
+            }
+
+            //rovno pridame potencialne vysvetlenie
+            Explanation explanation = new Explanation();
+            explanation.addAxioms(model.label);
+            explanation.addAxiom(child);
+            explanation.setAcquireTime(threadTimes.getTotalUserTimeInSec());
+            explanation.setLevel(model.depth);
+
+            path = new HashSet<>(explanation.getOwlAxioms());
+
+            if(canBePruned(explanation)){
+                path.clear();
+                continue;
+            }
+
+            if (!Configuration.REUSE_OF_MODELS || !usableModelInModels()) {
+                if(isTimeout()){
+                    return false;
+                }
+                if(Configuration.MHS_MODE){
+                    if(!isOntologyConsistent()){
+                        explanation.setDepth(explanation.getOwlAxioms().size());
+                        explanationManager.addPossibleExplanation(explanation);
+                        path.clear();
+                        continue;
                     }
-                    if(Configuration.MHS_MODE){
-                        if(!isOntologyConsistent()){
-                            explanation.setDepth(explanation.getOwlAxioms().size());
-                            explanationManager.addPossibleExplanation(explanation);
-                            path.clear();
-                            continue;
-                        }
-                    } else {
-                        if (!addNewExplanations()){
-                            path.clear();
-                            if(isTimeout()){
-                                makeTimeoutPartialLog();
-                                return;
-                            }
-                            continue;
-                        }
+                } else {
+                    if (!addNewExplanations()){
+                        path.clear();
                         if(isTimeout()){
-                            makeTimeoutPartialLog();
-                            return;
+                            return false;
                         }
+                        continue;
+                    }
+                    if(isTimeout()){
+                        return false;
                     }
                 }
-                else{
-                    explanationManager.setLengthOneExplanations(new ArrayList<>());
-                }
-                addNodeToTree(queue, explanation, model);
             }
+            else{
+                explanationManager.setLengthOneExplanations(new ArrayList<>());
+            }
+            addNodeToTree(queue, model, child);
         }
-        path.clear();
+        return true;
+    }
 
-        if(!levelTimes.containsKey(currentDepth)){
-            makePartialLog();
+    /**
+     * Paths of the children of the given nodes, as the loop in {@link #startSolving()} will reach them.
+     */
+    private void prefetchLevel(Collection<TreeNode> level) {
+        List<Set<OWLAxiom>> paths = new ArrayList<>();
+        for (TreeNode node : level) {
+            if (!(node instanceof ModelNode) || node.depth.equals(Configuration.DEPTH)) {
+                continue;
+            }
+            ModelNode model = (ModelNode) node;
+            for (OWLAxiom child : model.data) {
+                if (!isIncorrectPath(model, child)) {
+                    Set<OWLAxiom> childPath = new HashSet<>(model.label);
+                    childPath.add(child);
+                    paths.add(childPath);
+                }
+            }
         }
-        currentDepth = 0;
+        prefetcher.prefetch(paths);
     }
 
     private void makePartialLog() {
@@ -341,7 +709,14 @@ public class HybridSolver implements ISolver {
             explanationManager.setPossibleExplanations(conflict.getExplanations());
         }
 
-        ModelNode root = createModelNodeFromExistingModel(true, null, null);
+        // explanations of the previous incremental run close the paths containing them from the start
+        for (Explanation explanation : reusedExplanations) {
+            if (ruleChecker.isMinimal(explanationManager.getPossibleExplanations(), explanation)) {
+                explanationManager.addPossibleExplanation(explanation);
+            }
+        }
+
+        ModelNode root = createModelNodeFromExistingModel(AxiomChain.EMPTY, 0);
         if(root == null){
             return;
         }
@@ -364,8 +739,8 @@ public class HybridSolver implements ISolver {
         }
     }
 
-    private void addNodeToTree(Queue<TreeNode> queue, Explanation explanation, ModelNode model){
-        ModelNode modelNode = createModelNodeFromExistingModel(false, explanation, model.depth + 1);
+    private void addNodeToTree(Queue<TreeNode> queue, ModelNode model, OWLAxiom child){
+        ModelNode modelNode = createModelNodeFromExistingModel(model.label.append(child), model.depth + 1);
         if(modelNode == null){
             path.clear();
             return;
@@ -378,21 +753,15 @@ public class HybridSolver implements ISolver {
         path.clear();
     }
 
-    private ModelNode createModelNodeFromExistingModel(boolean isRoot, Explanation explanation, Integer depth){
+    private ModelNode createModelNodeFromExistingModel(AxiomChain label, Integer depth){
         ModelNode modelNode = new ModelNode();
         if (usableModelInModels()){
-            if(isRoot){
-                modelNode.data = negModels.get(lastUsableModelIndex).data;
-                modelNode.label = new LinkedList<>();
-                modelNode.depth = 0;
-            } else {
-                modelNode.label = explanation.getOwlAxioms();
-                modelNode.data = negModels.get(lastUsableModelIndex).data;
-                modelNode.data.removeAll(path);
-                modelNode.depth = depth;
-            }
+            modelNode.label = label;
+            modelNode.data = negModels.get(lastUsableModelIndex).data;
+            modelNode.modelIndex = lastUsableModelIndex;
+            modelNode.depth = depth;
         }
-        if(modelNode.data == null || modelNode.data.isEmpty()){
+        if(modelNode.data == null || !modelNode.hasChildren()){
             return null;
         }
         return modelNode;
@@ -408,11 +777,15 @@ public class HybridSolver implements ISolver {
         return false;
     }
 
-    private boolean isTimeout(){
-        if (Configuration.TIMEOUT != null && threadTimes.getTotalUserTimeInSec() > Configuration.TIMEOUT) {
-            return true;
-        }
-        return false;
+    boolean isTimeout(){
+        return deadline != null && deadline.isExpired();
+    }
+
+    /**
+     * @return deadline of the run, or null if there is no timeout
+     */
+    Deadline getDeadline(){
+        return deadline;
     }
 
     private void makeTimeoutPartialLog() {
@@ -429,10 +802,9 @@ public class HybridSolver implements ISolver {
         if (!ruleChecker.isMinimal(explanationManager.getPossibleExplanations(), explanation)){
             return true;
         }
-        if(pathsInCertainDepth.contains(path)){
+        if(!pathsInCertainDepth.add(axiomDictionary.toBitSet(path))){
             return true;
         }
-        pathsInCertainDepth.add(new HashSet<>(path));
 
         if(Configuration.CHECK_RELEVANCE_DURING_BUILDING_TREE_IN_MHS_MXP){
             if(!ruleChecker.isRelevant(explanation)){
@@ -459,7 +831,7 @@ public class HybridSolver implements ISolver {
     }
 
     private boolean isIncorrectPath(ModelNode model, OWLAxiom child){
-        if (model.label.contains(AxiomManager.getComplementOfOWLAxiom(loader, child)) ||
+        if (model.label.contains(child) || model.label.contains(AxiomManager.getComplementOfOWLAxiom(loader, child)) ||
                 child.equals(loader.getObservation().getOwlAxiom())){
             return true;
         }
@@ -473,7 +845,11 @@ public class HybridSolver implements ISolver {
     }
 
     Conflict getMergeConflict() {
-        return findConflicts(abd_literals);
+        return findConflicts(abd_literals, mainContext());
+    }
+
+    private ConflictContext mainContext() {
+        return ConflictContext.of(path, reasonerManager, modelExtractor);
     }
 
     private List<Explanation> findExplanations(){
@@ -482,24 +858,22 @@ public class HybridSolver implements ISolver {
         if(Configuration.CACHED_CONFLICTS_LONGEST_CONFLICT){
             setDivider.setIndexesOfExplanations(explanationManager.getPossibleExplanationsCount());
         }
-        Conflict conflict = findConflicts(abd_literals);
+        Conflict conflict = findConflicts(abd_literals, mainContext());
         abd_literals.addAxioms(path);
         abd_literals.addAxioms(explanationManager.getLengthOneExplanations());
         return conflict.getExplanations();
     }
 
-    private Conflict findConflicts(Axioms literals) {
-        path.remove(negObservation);
-        reasonerManager.addAxiomsToOntology(path);
+    private Conflict findConflicts(Axioms literals, ConflictContext context) {
+        context.path.remove(negObservation);
 
         if (isTimeout()) {
             return new Conflict(new Axioms(), new LinkedList<>());
         }
 
-        if (isOntologyWithLiteralsConsistent(literals.getAxiomSet())) {
+        if (isOntologyWithLiteralsConsistent(literals.getAxiomSet(), context)) {
             return new Conflict(literals, new LinkedList<>());
         }
-        resetOntologyToOriginal();
         if (literals.getAxiomSet().size() == 1) {
             List<Explanation> explanations = new LinkedList<>();
             explanations.add(new Explanation(literals.getAxiomSet(), literals.getAxiomSet().size(), currentDepth, threadTimes.getTotalUserTimeInSec()));
@@ -514,18 +888,37 @@ public class HybridSolver implements ISolver {
         List<Axioms> sets = setDivider.divideIntoSets(literals);
         double median = setDivider.getMedian();
 
-        Conflict conflictC1 = findConflicts(sets.get(0));
-        if(Configuration.CACHED_CONFLICTS_LONGEST_CONFLICT){
-            setDivider.addIndexToIndexesOfExplanations(indexOfExplanation);
-        } else if(Configuration.CACHED_CONFLICTS_MEDIAN){
-            setDivider.setMedian(median);
-        }
+        Conflict conflictC1;
+        Conflict conflictC2;
+        IReasonerManager worker = canForkConflicts(literals) ? reasonerManager.tryLease() : null;
+        if (worker != null) {
+            ConflictContext leftContext = context.onWorker(worker);
+            ConflictContext rightContext = context.collecting();
+            ForkJoinTask<Conflict> left = getConflictPool().submit(() -> {
+                try {
+                    return findConflicts(sets.get(0), leftContext);
+                } finally {
+                    reasonerManager.release(worker);
+                }
+            });
+            conflictC2 = findConflicts(sets.get(1), rightContext);
+            conflictC1 = left.join();
+            context.addModelsOf(leftContext);
+            context.addModelsOf(rightContext);
+        } else {
+            conflictC1 = findConflicts(sets.get(0), context);
+            if(Configuration.CACHED_CONFLICTS_LONGEST_CONFLICT){
+                setDivider.addIndexToIndexesOfExplanations(indexOfExplanation);
+            } else if(Configuration.CACHED_CONFLICTS_MEDIAN){
+                setDivider.setMedian(median);
+            }
 
-        Conflict conflictC2 = findConflicts(sets.get(1));
-        if(Configuration.CACHED_CONFLICTS_LONGEST_CONFLICT){
-            setDivider.addIndexToIndexesOfExplanations(indexOfExplanation);
-        } else if(Configuration.CACHED_CONFLICTS_MEDIAN){
-            setDivider.setMedian(median);
+            conflictC2 = findConflicts(sets.get(1), context);
+            if(Configuration.CACHED_CONFLICTS_LONGEST_CONFLICT){
+                setDivider.addIndexToIndexesOfExplanations(indexOfExplanation);
+            } else if(Configuration.CACHED_CONFLICTS_MEDIAN){
+                setDivider.setMedian(median);
+            }
         }
 
         List<Explanation> explanations = new LinkedList<>();
@@ -536,21 +929,25 @@ public class HybridSolver implements ISolver {
         conflictLiterals.getAxiomSet().addAll(conflictC1.getAxioms().getAxiomSet());
         conflictLiterals.getAxiomSet().addAll(conflictC2.getAxioms().getAxiomSet());
 
-        while (!isOntologyWithLiteralsConsistent(conflictLiterals.getAxiomSet())) {
+        while (!isOntologyWithLiteralsConsistent(conflictLiterals.getAxiomSet(), context)) {
 
             if ((Configuration.DEPTH == null || Configuration.DEPTH == 0 || Configuration.DEPTH == Integer.MAX_VALUE) && Configuration.TIMEOUT != null)
-                if (Configuration.PRINT_PROGRESS)
+                if (Configuration.PRINT_PROGRESS && context.isRecordingModels())
                     progressManager.updateProgress(currentDepth, threadTimes.getTotalUserTimeInSec());
 
             if (isTimeout()) break;
 
-            path.addAll(conflictC2.getAxioms().getAxiomSet());
-            Explanation X = getConflict(conflictC2.getAxioms().getAxiomSet(), conflictC1.getAxioms(), path);
-            path.removeAll(conflictC2.getAxioms().getAxiomSet());
+            context.path.addAll(conflictC2.getAxioms().getAxiomSet());
+            context.reasonerManager.push(conflictC2.getAxioms().getAxiomSet());
+            Explanation X = getConflict(conflictC2.getAxioms().getAxiomSet(), conflictC1.getAxioms(), context.path, context);
+            context.reasonerManager.pop();
+            context.path.removeAll(conflictC2.getAxioms().getAxiomSet());
 
-            path.addAll(X.getOwlAxioms());
-            Explanation CS = getConflict(X.getOwlAxioms(), conflictC2.getAxioms(), path);
-            path.removeAll(X.getOwlAxioms());
+            context.path.addAll(X.getOwlAxioms());
+            context.reasonerManager.push(X.getOwlAxioms());
+            Explanation CS = getConflict(X.getOwlAxioms(), conflictC2.getAxioms(), context.path, context);
+            context.reasonerManager.pop();
+            context.path.removeAll(X.getOwlAxioms());
 
             CS.getOwlAxioms().addAll(X.getOwlAxioms());
 
@@ -564,7 +961,7 @@ public class HybridSolver implements ISolver {
 
             Explanation newExplanation = CS;
             if(Configuration.CHECKING_MINIMALITY_BY_QXP){
-                newExplanation = getMinimalExplanationByCallingQXP(CS);
+                newExplanation = getMinimalExplanationByCallingQXP(CS, context);
             }
             explanations.add(newExplanation);
             if(Configuration.CACHED_CONFLICTS_MEDIAN){
@@ -575,13 +972,31 @@ public class HybridSolver implements ISolver {
         return new Conflict(conflictLiterals, explanations);
     }
 
-    private Explanation getConflict(Collection<OWLAxiom> axioms, Axioms literals, Set<OWLAxiom> actualPath) {
+    /**
+     * Halves of the literals are searched in parallel only if there is a free pooled reasoner, the set is not too small
+     * and the division does not depend on cached conflicts, which are shared by the whole search.
+     */
+    private boolean canForkConflicts(Axioms literals) {
+        return Configuration.REASONER_POOL_SIZE > 1
+                && literals.getAxiomSet().size() >= Configuration.MXP_SEQUENTIAL_CUTOFF
+                && !Configuration.CACHED_CONFLICTS_LONGEST_CONFLICT
+                && !Configuration.CACHED_CONFLICTS_MEDIAN;
+    }
+
+    private synchronized ForkJoinPool getConflictPool() {
+        if (conflictPool == null) {
+            conflictPool = new ForkJoinPool(Configuration.REASONER_POOL_SIZE);
+        }
+        return conflictPool;
+    }
+
+    private Explanation getConflict(Collection<OWLAxiom> axioms, Axioms literals, Set<OWLAxiom> actualPath, ConflictContext context) {
 
         if (isTimeout()) {
             return new Explanation();
         }
 
-        if (!axioms.isEmpty() && !isOntologyConsistent()) {
+        if (!axioms.isEmpty() && !context.isOntologyConsistent(actualPath)) {
             return new Explanation();
         }
 
@@ -589,14 +1004,22 @@ public class HybridSolver implements ISolver {
             return new Explanation(literals.getAxiomSet(), 1, currentDepth, threadTimes.getTotalUserTimeInSec());
         }
 
+        if (prefetcher != null && Configuration.QXP_LOOKAHEAD > 0 && context.isRecordingModels()) {
+            prefetcher.speculate(getQxpLookahead(actualPath, literals));
+        }
+
         List<Axioms> sets = setDivider.divideIntoSetsWithoutCondition(literals);
 
         actualPath.addAll(sets.get(0).getAxiomSet());
-        Explanation D2 = getConflict(sets.get(0).getAxiomSet(), sets.get(1), actualPath);
+        context.reasonerManager.push(sets.get(0).getAxiomSet());
+        Explanation D2 = getConflict(sets.get(0).getAxiomSet(), sets.get(1), actualPath, context);
+        context.reasonerManager.pop();
         actualPath.removeAll(sets.get(0).getAxiomSet());
 
         actualPath.addAll(D2.getOwlAxioms());
-        Explanation D1 = getConflict(D2.getOwlAxioms(), sets.get(0), actualPath);
+        context.reasonerManager.push(D2.getOwlAxioms());
+        Explanation D1 = getConflict(D2.getOwlAxioms(), sets.get(0), actualPath, context);
+        context.reasonerManager.pop();
         actualPath.removeAll(D2.getOwlAxioms());
 
         Set<OWLAxiom> conflicts = new HashSet<>();
@@ -606,14 +1029,30 @@ public class HybridSolver implements ISolver {
         return new Explanation(conflicts, conflicts.size(), currentDepth, threadTimes.getTotalUserTimeInSec());
     }
 
+    /**
+     * Paths of the next consistency checks of QuickXplain, if the first halves keep being consistent:
+     * the path with the first half of the literals, then also with the first half of the second half, and so on.
+     */
+    private List<Set<OWLAxiom>> getQxpLookahead(Set<OWLAxiom> actualPath, Axioms literals) {
+        List<Set<OWLAxiom>> lookahead = new ArrayList<>();
+        Set<OWLAxiom> nextPath = new HashSet<>(actualPath);
+        Axioms rest = literals;
+        while (lookahead.size() < Configuration.QXP_LOOKAHEAD && rest.getAxiomSet().size() > 1) {
+            List<Axioms> sets = setDivider.divideIntoSetsWithoutCondition(rest);
+            nextPath.addAll(sets.get(0).getAxiomSet());
+            lookahead.add(new HashSet<>(nextPath));
+            rest = sets.get(1);
+        }
+        return lookahead;
+    }
+
     private boolean usableModelInModels(){
-        for (int i = models.size()-1; i >= 0 ; i--){
-            if (models.get(i).data.containsAll(path)){
-                lastUsableModelIndex = i;
-                return true;
-            }
+        int index = modelStore.findCovering(path);
+        if (index == -1){
+            return false;
         }
-        return false;
+        lastUsableModelIndex = index;
+        return true;
     }
 
     private boolean addNewExplanations(){
@@ -643,36 +1082,34 @@ public class HybridSolver implements ISolver {
         return !newExplanations.isEmpty();
     }
 
-    private boolean isOntologyWithLiteralsConsistent(Collection<OWLAxiom> axioms){
-        path.addAll(axioms);
-        boolean isConsistent = isOntologyConsistent();
-        path.removeAll(axioms);
+    private boolean isOntologyWithLiteralsConsistent(Collection<OWLAxiom> axioms, ConflictContext context){
+        context.path.addAll(axioms);
+        boolean isConsistent = context.isOntologyConsistent(context.path);
+        context.path.removeAll(axioms);
         return isConsistent;
     }
 
     private boolean isOntologyConsistent(){
-        ModelNode node = modelExtractor.getNegModelByOntology();
+        return isOntologyConsistent(path);
+    }
+
+    private boolean isOntologyConsistent(Set<OWLAxiom> assumptions){
+        ModelNode node = modelExtractor.getNegModelByOntology(assumptions);
         return node.modelIsValid;
     }
 
     public Explanation getMinimalExplanationByCallingQXP(Explanation explanation){
+        return getMinimalExplanationByCallingQXP(explanation, mainContext());
+    }
+
+    private Explanation getMinimalExplanationByCallingQXP(Explanation explanation, ConflictContext context){
         Set<OWLAxiom> temp = new HashSet<>(explanation.getOwlAxioms());
-        if(path != null){
-            temp.addAll(path);
+        if(context.path != null){
+            temp.addAll(context.path);
         }
         Axioms potentialExplanations = new Axioms(temp);
 
-        checkingMinimalityWithQXP = true;
-        pathDuringCheckingMinimality = new HashSet<>();
-        Explanation newExplanation = getConflict(new ArrayList<>(), potentialExplanations, pathDuringCheckingMinimality);
-        checkingMinimalityWithQXP = false;
-        pathDuringCheckingMinimality = new HashSet<>();
-
-        return newExplanation;
-    }
-
-    public void resetOntologyToOriginal(){
-        reasonerManager.resetOntology(loader.getOriginalOntology().axioms());
+        return getConflict(new ArrayList<>(), potentialExplanations, new HashSet<>(), context);
     }
 
 }
\ No newline at end of file
@@ -32,6 +32,8 @@ public interface IExplanationManager {
 
     void showExplanations() throws OWLOntologyStorageException, OWLOntologyCreationException;
 
+    List<Explanation> getFinalExplanations();
+
     void showError(Throwable e);
 
     void logMessages(List<String> info, String message);
@@ -0,0 +1,10 @@
+package algorithms.hybrid;
+
+/**
+ * Priority of a node of the HS-tree in the best-first search, nodes with lower values are searched first.
+ * The priority is computed once, when the node is added to the tree.
+ */
+public interface INodePriority {
+
+    double getPriority(ModelNode node);
+}
@@ -0,0 +1,92 @@
+package algorithms.hybrid;
+
+import common.Configuration;
+import models.Explanation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+/**
+ * What a run of the solver leaves for the next run on a slightly changed input, see {@link HybridSolver#setIncremental(IncrementalState)}.
+ * The next run keeps only what the changes do not invalidate. Consistency verdicts are about the knowledge base with
+ * the negated observation, so with the same observation all of them stay valid if the knowledge base is the same,
+ * and the inconsistent ones also if axioms were only added to it. Final explanations stay final if the knowledge base
+ * is the same, as long as their axioms are still abducible. Models also depend on the abducibles, they are kept only
+ * if the abducible literals are the same too. Explanations are reused only with the same settings, see
+ * {@link #currentSwitches()}.
+ */
+public class IncrementalState {
+
+    final AxiomDictionary dictionary;
+    final Set<OWLAxiom> knowledgeBase;
+    final OWLAxiom negObservation;
+    final String switches;
+    Set<OWLAxiom> literals;
+    List<ModelNode> models = Collections.emptyList();
+    List<ModelNode> negModels = Collections.emptyList();
+    List<Explanation> explanations = Collections.emptyList();
+    ConsistencyIndex consistencyIndex;
+
+    IncrementalState(AxiomDictionary dictionary, Set<OWLAxiom> knowledgeBase, OWLAxiom negObservation, String switches) {
+        this.dictionary = dictionary;
+        this.knowledgeBase = knowledgeBase;
+        this.negObservation = negObservation;
+        this.switches = switches;
+    }
+
+    boolean hasSameKnowledgeBase(IncrementalState next) {
+        return negObservation.equals(next.negObservation) && knowledgeBase.equals(next.knowledgeBase);
+    }
+
+    boolean hasKnowledgeBaseExtendedBy(IncrementalState next) {
+        return negObservation.equals(next.negObservation) && next.knowledgeBase.containsAll(knowledgeBase);
+    }
+
+    /**
+     * Settings that decide which explanations are valid, explanations are reused only if they are all the same.
+     */
+    static String currentSwitches() {
+        return Configuration.MHS_MODE + ";" + Configuration.STRICT_RELEVANCE + ";" + Configuration.DEPTH + ";"
+                + Configuration.NEGATION_ALLOWED + ";" + Configuration.LOOPING_ALLOWED + ";"
+                + Configuration.ROLES_IN_EXPLANATIONS_ALLOWED + ";" + Configuration.CHECK_RELEVANCE_DURING_BUILDING_TREE_IN_MHS_MXP;
+    }
+
+    /**
+     * @return consistency verdicts valid for the next run, as a copy that does not change this state, or null if none are
+     */
+    ConsistencyIndex getConsistencyIndexFor(IncrementalState next) {
+        if (consistencyIndex == null) {
+            return null;
+        }
+        if (hasSameKnowledgeBase(next)) {
+            return consistencyIndex.copy();
+        }
+        if (hasKnowledgeBaseExtendedBy(next)) {
+            return consistencyIndex.copyInconsistentSets();
+        }
+        return null;
+    }
+
+    /**
+     * @return explanations of this run that are final also for the next run
+     */
+    List<Explanation> getExplanationsFor(IncrementalState next) {
+        if (literals == null || !hasSameKnowledgeBase(next) || !switches.equals(next.switches)) {
+            return Collections.emptyList();
+        }
+        List<Explanation> result = new ArrayList<>();
+        for (Explanation explanation : explanations) {
+            if (next.literals.containsAll(explanation.getOwlAxioms())) {
+                result.add(explanation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return whether the stored models of this run are valid for the next run
+     */
+    boolean hasModelsFor(IncrementalState next) {
+        return literals != null && hasSameKnowledgeBase(next) && literals.equals(next.literals);
+    }
+}
@@ -0,0 +1,140 @@
+package algorithms.hybrid;
+
+import common.Configuration;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import java.util.*;
+
+/**
+ * Information about individuals that the model extraction looks up for every model: classes in the signature,
+ * types and object property assertions (positive and negative) by subject.
+ * Types are the asserted ones and those the reasoner infers from the knowledge base. The realization is computed
+ * once, on the first lookup, by a reasoner of its own; a solver that is given the index of an earlier run over
+ * the same knowledge base (see {@link HybridSolver#setKnowledgeBaseIndex(KnowledgeBaseIndex)}) reuses it.
+ * The axioms added to the original ontology of a run (e.g. the negated observation) are kept in a small overlay.
+ */
+public class KnowledgeBaseIndex {
+
+    private final Set<OWLAxiom> initialAxioms;
+    private final KnowledgeBaseIndex base;
+    private final Set<OWLClass> classes = new HashSet<>();
+    private final Map<OWLIndividual, Set<OWLClassExpression>> types = new HashMap<>();
+    private final Map<OWLIndividual, Set<OWLAxiom>> propertyAssertions = new HashMap<>();
+    private Map<OWLIndividual, Set<OWLClassExpression>> inferredTypes;
+
+    /**
+     * @param initialAxioms axioms of the knowledge base
+     */
+    public KnowledgeBaseIndex(Set<OWLAxiom> initialAxioms) {
+        this(initialAxioms, null, initialAxioms);
+    }
+
+    private KnowledgeBaseIndex(Set<OWLAxiom> initialAxioms, KnowledgeBaseIndex base, Collection<OWLAxiom> axioms) {
+        this.initialAxioms = initialAxioms;
+        this.base = base;
+        for (OWLAxiom axiom : axioms) {
+            add(axiom);
+        }
+    }
+
+    /**
+     * @return whether this is the index of the knowledge base with the given axioms
+     */
+    public boolean isFor(Set<OWLAxiom> axioms) {
+        return initialAxioms == axioms || initialAxioms.equals(axioms);
+    }
+
+    /**
+     * @param addedAxioms axioms of the original ontology of a run that are not among the initial axioms
+     * @return index of the original ontology of the run, sharing this index
+     */
+    KnowledgeBaseIndex withAddedAxioms(Collection<OWLAxiom> addedAxioms) {
+        return new KnowledgeBaseIndex(initialAxioms, this, addedAxioms);
+    }
+
+    public Set<OWLClass> getClasses() {
+        Set<OWLClass> result = new HashSet<>(classes);
+        if (base != null) {
+            result.addAll(base.classes);
+        }
+        return result;
+    }
+
+    /**
+     * @return asserted class literals of the individual and the named classes it is inferred to belong to
+     */
+    public Set<OWLClassExpression> getTypes(OWLIndividual individual) {
+        KnowledgeBaseIndex root = base == null ? this : base;
+        Set<OWLClassExpression> result = lookup(individual, types, base == null ? null : base.types);
+        result.addAll(root.getInferredTypes().getOrDefault(individual, Collections.emptySet()));
+        return result;
+    }
+
+    /**
+     * @return object property assertions and negative object property assertions with the individual as the subject
+     */
+    public Set<OWLAxiom> getPropertyAssertions(OWLIndividual individual) {
+        return lookup(individual, propertyAssertions, base == null ? null : base.propertyAssertions);
+    }
+
+    private static <T> Set<T> lookup(OWLIndividual individual, Map<OWLIndividual, Set<T>> own, Map<OWLIndividual, Set<T>> inherited) {
+        Set<T> result = new HashSet<>(own.getOrDefault(individual, Collections.emptySet()));
+        if (inherited != null) {
+            result.addAll(inherited.getOrDefault(individual, Collections.emptySet()));
+        }
+        return result;
+    }
+
+    // whatever is entailed by the knowledge base holds in every model of its extensions
+    private synchronized Map<OWLIndividual, Set<OWLClassExpression>> getInferredTypes() {
+        if (inferredTypes == null) {
+            inferredTypes = realize();
+        }
+        return inferredTypes;
+    }
+
+    private Map<OWLIndividual, Set<OWLClassExpression>> realize() {
+        Map<OWLIndividual, Set<OWLClassExpression>> result = new HashMap<>();
+        OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology;
+        try {
+            ontology = ontologyManager.createOntology(initialAxioms);
+        } catch (OWLOntologyCreationException e) {
+            throw new RuntimeException("Could not create the ontology of the knowledge base index", e);
+        }
+        OWLReasoner reasoner = Configuration.REASONER.createFactory().createReasoner(ontology);
+        try {
+            if (!reasoner.isConsistent()) {
+                return result;
+            }
+            OWLClass thing = ontologyManager.getOWLDataFactory().getOWLThing();
+            for (OWLNamedIndividual individual : ontology.getIndividualsInSignature()) {
+                Set<OWLClassExpression> inferred = new HashSet<>();
+                reasoner.getTypes(individual, false).entities().filter(type -> !type.equals(thing)).forEach(inferred::add);
+                if (!inferred.isEmpty()) {
+                    result.put(individual, inferred);
+                }
+            }
+        } finally {
+            reasoner.dispose();
+            ontologyManager.removeOntology(ontology);
+        }
+        return result;
+    }
+
+    private void add(OWLAxiom axiom) {
+        axiom.classesInSignature().forEach(classes::add);
+        if (axiom.isOfType(AxiomType.CLASS_ASSERTION)) {
+            OWLClassAssertionAxiom assertion = (OWLClassAssertionAxiom) axiom;
+            types.computeIfAbsent(assertion.getIndividual(), i -> new HashSet<>()).add(assertion.getClassExpression());
+        } else if (axiom.isOfType(AxiomType.OBJECT_PROPERTY_ASSERTION)) {
+            OWLIndividual subject = ((OWLObjectPropertyAssertionAxiom) axiom).getSubject();
+            propertyAssertions.computeIfAbsent(subject, i -> new HashSet<>()).add(axiom);
+        } else if (axiom.isOfType(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION)) {
+            OWLIndividual subject = ((OWLNegativeObjectPropertyAssertionAxiom) axiom).getSubject();
+            propertyAssertions.computeIfAbsent(subject, i -> new HashSet<>()).add(axiom);
+        }
+    }
+}
@@ -3,45 +3,142 @@ import common.Configuration;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.knowledgeexploration.OWLKnowledgeExplorerReasoner;
-import org.semanticweb.owlapi.search.EntitySearcher;
 import reasoner.AxiomManager;
 import reasoner.ILoader;
+import reasoner.IReasonerLoader;
 import reasoner.IReasonerManager;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.stream.Collectors.toSet;
 
 public class ModelExtractor {
 
     private ILoader loader;
+    // loader of the reasoner manager, whose model reasoner is read
+    private IReasonerLoader reasonerLoader;
     private IReasonerManager reasonerManager;
     private HybridSolver hybridSolver;
     private OWLOntologyManager ontologyManager;
+    private ConsistencyIndex consistencyIndex;
+    private KnowledgeBaseIndex knowledgeBaseIndex;
+    private ModelPrefetcher prefetcher;
+    private final Map<IReasonerManager, ModelExtractor> workerExtractors = new ConcurrentHashMap<>();
 
     public ModelExtractor(ILoader loader, IReasonerManager reasonerManager, HybridSolver hybridSolver){
         this.loader = loader;
+        this.reasonerLoader = loader;
         this.reasonerManager = reasonerManager;
         this.hybridSolver = hybridSolver;
         this.ontologyManager = OWLManager.createOWLOntologyManager();
+        this.consistencyIndex = hybridSolver.createConsistencyIndex();
     }
 
-    public ModelNode getNegModelByOntology(){  // mrozek
+    /**
+     * Extractor working with a pooled reasoner, it shares the indexes of the given extractor.
+     */
+    ModelExtractor(ModelExtractor extractor, IReasonerManager worker){
+        this.loader = extractor.loader;
+        this.reasonerLoader = worker.getLoader();
+        this.reasonerManager = worker;
+        this.hybridSolver = extractor.hybridSolver;
+        this.ontologyManager = OWLManager.createOWLOntologyManager();
+        this.consistencyIndex = extractor.consistencyIndex;
+        this.knowledgeBaseIndex = extractor.getKnowledgeBaseIndex();
+    }
+
+    /**
+     * @return the extractor of the pooled reasoner manager, created on the first call
+     */
+    ModelExtractor forWorker(IReasonerManager worker){
+        return workerExtractors.computeIfAbsent(worker, w -> new ModelExtractor(this, w));
+    }
+
+    void setPrefetcher(ModelPrefetcher prefetcher){
+        this.prefetcher = prefetcher;
+    }
+
+    public ConsistencyIndex getConsistencyIndex(){
+        return consistencyIndex;
+    }
+
+    // created on the first model, when the negated observation is already in the original ontology
+    synchronized KnowledgeBaseIndex getKnowledgeBaseIndex(){
+        if (knowledgeBaseIndex == null) {
+            Set<OWLAxiom> initialAxioms = loader.getInitialAxioms();
+            Set<OWLAxiom> addedAxioms = hybridSolver.ontology.axioms()
+                    .filter(axiom -> !initialAxioms.contains(axiom))
+                    .collect(toSet());
+            knowledgeBaseIndex = hybridSolver.createKnowledgeBaseIndex(addedAxioms);
+        }
+        return knowledgeBaseIndex;
+    }
+
+    public ModelNode getNegModelByOntology(Set<OWLAxiom> path){  // mrozek
+        if (path == null) {
+            path = new HashSet<>();
+        }
+        removeNegObservation(path);
+
+        ExtractedModel extracted = null;
+        if (prefetcher != null) {
+            extracted = prefetcher.take(path);
+        }
+        if (extracted == null && Configuration.REUSE_OF_MODELS) {
+            ModelNode stored = getStoredNegModel(path);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        if (extracted == null) {
+            extracted = extractModel(path);
+        }
+
+        if (!extracted.isValid()){
+            ModelNode modelNode = new ModelNode();
+            modelNode.modelIsValid = false;
+            return modelNode;
+        }
+        recordModel(extracted);
+        return extracted.negModel;
+    }
+
+    /**
+     * A stored model containing the path is a model of the path too, so neither the consistency check
+     * nor the model extraction needs the reasoner.
+     * @return negation of the last stored model containing the path, or null
+     */
+    private ModelNode getStoredNegModel(Set<OWLAxiom> path){
+        if (hybridSolver.modelStore == null) {
+            return null;
+        }
+        int index = hybridSolver.modelStore.findCovering(path);
+        return index == -1 ? null : hybridSolver.negModels.get(index);
+    }
+
+    void recordModel(ExtractedModel extracted){
+        addModel(extracted.model, extracted.negModel);
+    }
+
+    /**
+     * Extracts the model of the original ontology with the path (without the negated observation) and its negation.
+     * The solver is not changed, so it can be called with a pooled reasoner.
+     */
+    ExtractedModel extractModel(Set<OWLAxiom> path){
         OWLDataFactory dfactory = ontologyManager.getOWLDataFactory();
         ModelNode negModelNode = new ModelNode();
         ModelNode modelNode = new ModelNode();
         Set<OWLAxiom> negModelSet = new HashSet<>();
         Set<OWLAxiom> modelSet = new HashSet<>();
 
-        if(!isOntologyConsistentWithPath()){
-            modelNode.modelIsValid = false;
-            negModelNode.modelIsValid = false;
-            return modelNode;
+        if(!isOntologyConsistentWithPath(path)){
+            return ExtractedModel.INVALID;
         }
 
 //        System.out.println("MODEL");
         ArrayList<OWLNamedIndividual> individualArray;
         if(loader.isAxiomBasedAbduciblesOnInput()){
-            individualArray = new ArrayList<>(loader.getOntology().getIndividualsInSignature());
+            individualArray = new ArrayList<>(reasonerLoader.getOntology().getIndividualsInSignature());
         } else {
             individualArray = new ArrayList<>(hybridSolver.abducibles.getIndividuals());
         }
@@ -59,60 +156,61 @@ public class ModelExtractor {
 
         if(loader.isAxiomBasedAbduciblesOnInput()){
             modelSet.retainAll(hybridSolver.abducibles.getAxiomBasedAbducibles());
-            modelNode.data = modelSet;
             negModelSet.retainAll(hybridSolver.abducibles.getAxiomBasedAbducibles());
-            negModelNode.data = negModelSet;
-
-        } else {
-            modelNode.data = modelSet;
-            negModelNode.data = negModelSet;
-        }
-
-        hybridSolver.lastUsableModelIndex = hybridSolver.models.indexOf(modelNode);
-
-        if (!modelNode.data.isEmpty() && hybridSolver.lastUsableModelIndex == -1) {
-            hybridSolver.lastUsableModelIndex = hybridSolver.models.size();
-            addModel(modelNode, negModelNode);
         }
-        return negModelNode;
+        // shared by the nodes of the tree, none of them may change it
+        modelNode.data = Collections.unmodifiableSet(modelSet);
+        negModelNode.data = Collections.unmodifiableSet(negModelSet);
+        return new ExtractedModel(modelNode, negModelNode);
     }
 
-    public boolean isOntologyConsistentWithPath(){
-        if(hybridSolver.checkingMinimalityWithQXP) {
-            return isOntologyConsistentWithPath(hybridSolver.pathDuringCheckingMinimality);
+    /**
+     * Pushes the path on top of the frames already in the working ontology, so only its missing part is added.
+     * If the path is consistent, the frame is left open for the model extraction and closed by
+     * {@link #deletePathFromOntology()}. The reasoner is not asked for consistency if the verdict follows from the consistency index,
+     * but the collected changes are flushed anyway, as the model is read from it.
+     */
+    public boolean isOntologyConsistentWithPath(Set<OWLAxiom> path){
+        if (path == null) {
+            path = new HashSet<>();
         }
-        else {
-            return isOntologyConsistentWithPath(hybridSolver.path);
+        removeNegObservation(path);
+        Boolean knownVerdict = consistencyIndex.getVerdict(path);
+        if (Boolean.FALSE.equals(knownVerdict)){
+            return false;
         }
-    }
-
-    public boolean isOntologyConsistentWithPath(Set<OWLAxiom> path){
-        if (path != null) {
-            if(loader.isMultipleObservationOnInput()){
-                for(OWLAxiom axiom : loader.getObservation().getAxiomsInMultipleObservations()){
-                    path.remove(AxiomManager.getComplementOfOWLAxiom(loader, axiom));
-                }
-            } else {
-                path.remove(hybridSolver.negObservation);
-            }
-            reasonerManager.addAxiomsToOntology(path);
-            if (!reasonerManager.isOntologyConsistent()){
-                hybridSolver.resetOntologyToOriginal();
+        reasonerManager.push(path);
+        if (knownVerdict == null){
+            boolean isConsistent = reasonerManager.isOntologyConsistent();
+            consistencyIndex.addVerdict(path, isConsistent);
+            if (!isConsistent){
+                reasonerManager.pop();
                 return false;
             }
         }
+        reasonerManager.flushChanges();
         return true;
     }
 
+    void removeNegObservation(Set<OWLAxiom> path){
+        if(loader.isMultipleObservationOnInput()){
+            for(OWLAxiom axiom : loader.getObservation().getAxiomsInMultipleObservations()){
+                path.remove(AxiomManager.getComplementOfOWLAxiom(loader, axiom));
+            }
+        } else {
+            path.remove(hybridSolver.negObservation);
+        }
+    }
+
     public void assignTypesToIndividual(OWLDataFactory dfactory, OWLNamedIndividual ind, Set<OWLAxiom> negModelSet, Set<OWLAxiom> modelSet){
         //complex concepts from original ontology
-        Set<OWLClassExpression> ontologyTypes = EntitySearcher.getTypes(ind, hybridSolver.ontology).collect(toSet());
+        Set<OWLClassExpression> ontologyTypes = getKnowledgeBaseIndex().getTypes(ind);
 
         Set<OWLClassExpression> knownTypes = new HashSet<>(); //concepts assigned to ind from original ontology
         Set<OWLClassExpression> knownNotTypes = new HashSet<>(); //neg concepts assigned to ind from original ontology
         divideTypesAccordingOntology(ontologyTypes, knownTypes, knownNotTypes);
 
-        Set<OWLClassExpression> newNotTypes = classSet2classExpSet(hybridSolver.ontology.classesInSignature().collect(toSet()));
+        Set<OWLClassExpression> newNotTypes = classSet2classExpSet(getKnowledgeBaseIndex().getClasses());
         newNotTypes.remove(dfactory.getOWLThing());
         newNotTypes.removeAll(knownNotTypes);
 
@@ -122,8 +220,8 @@ public class ModelExtractor {
 //        System.out.println(individual);
 //        System.out.println();
 
-        OWLKnowledgeExplorerReasoner.RootNode rootNode = loader.getReasoner().getRoot(individual);
-        Set<OWLClassExpression> foundTypes = loader.getReasoner().getObjectLabel(rootNode,false)
+        OWLKnowledgeExplorerReasoner.RootNode rootNode = reasonerLoader.getModelReasoner().getRoot(individual);
+        Set<OWLClassExpression> foundTypes = reasonerLoader.getModelReasoner().getObjectLabel(rootNode,false)
                 .entities()
                 .collect(toSet());
 
@@ -134,15 +232,8 @@ public class ModelExtractor {
     }
 
     public void assignRolesToIndividual(OWLDataFactory dfactory, OWLNamedIndividual ind, ArrayList<OWLNamedIndividual> individuals, Set<OWLAxiom> negModelSet, Set<OWLAxiom> modelSet) {
-        Set<OWLAxiom> ontologyPropertyAxioms = hybridSolver.ontology.axioms()
-                .filter(a -> a.isOfType(AxiomType.OBJECT_PROPERTY_ASSERTION)
-                        && ((OWLObjectPropertyAssertionAxiom)a).getSubject() == ind)
-                .collect(toSet()); //object properties where ind is a subject -> objectProperty(ind,x)
-
-        ontologyPropertyAxioms.addAll(hybridSolver.ontology.axioms()
-                .filter(a -> a.isOfType(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION)
-                        && ((OWLNegativeObjectPropertyAssertionAxiom)a).getSubject() == ind)
-                .collect(toSet())); //add neg object properties where ind is a subject -> not(objectProperty(ind,x))
+        //object properties and neg object properties where ind is a subject -> objectProperty(ind,x), not(objectProperty(ind,x))
+        Set<OWLAxiom> ontologyPropertyAxioms = getKnowledgeBaseIndex().getPropertyAssertions(ind);
 
         Set<OWLObjectPropertyAssertionAxiom> known = new HashSet<>();
         Set<OWLObjectPropertyAssertionAxiom> knownNot = new HashSet<>();
@@ -156,21 +247,21 @@ public class ModelExtractor {
 
         for (OWLNamedIndividual n : individuals) {
             OWLObjectOneOf i = ontologyManager.getOWLDataFactory().getOWLObjectOneOf(n);
-            nodes.add(loader.getReasoner().getRoot(i));
+            nodes.add(reasonerLoader.getModelReasoner().getRoot(i));
         }
         OWLObjectOneOf individual = ontologyManager.getOWLDataFactory().getOWLObjectOneOf(ind);
-        OWLKnowledgeExplorerReasoner.RootNode rootNode = loader.getReasoner().getRoot(individual);
+        OWLKnowledgeExplorerReasoner.RootNode rootNode = reasonerLoader.getModelReasoner().getRoot(individual);
 //        System.out.println("IND " + ind);
 //        System.out.println("NOMINAL " + individual);
 //        System.out.println("NODE " + rootNode);
 //        System.out.println("NODE v2 " + rootNode.getNode() + "");
-        Set<OWLObjectPropertyExpression> roles = loader.getReasoner().getObjectNeighbours(rootNode, false)
+        Set<OWLObjectPropertyExpression> roles = reasonerLoader.getModelReasoner().getObjectNeighbours(rootNode, false)
                 .entities()
                 .collect(toSet());
 
         for (OWLObjectPropertyExpression role : roles) {
             if (role.isOWLObjectProperty()) {
-                Collection<OWLKnowledgeExplorerReasoner.RootNode> nodes2 = loader.getReasoner()
+                Collection<OWLKnowledgeExplorerReasoner.RootNode> nodes2 = reasonerLoader.getModelReasoner()
                         .getObjectNeighbours(rootNode, role.getNamedProperty());
 //                System.out.println("ROLES " + role);
                 for (OWLKnowledgeExplorerReasoner.RootNode r : nodes2) {
@@ -299,17 +390,32 @@ public class ModelExtractor {
 
 
     public void deletePathFromOntology() {
-        hybridSolver.resetOntologyToOriginal();
+        reasonerManager.pop();
     }
 
     public void addModel(ModelNode model, ModelNode negModel){
-        hybridSolver.lastUsableModelIndex = hybridSolver.models.indexOf(model);
-        if (hybridSolver.lastUsableModelIndex != -1 || model.data.isEmpty()){
+        if (model.data.isEmpty()){
+            hybridSolver.lastUsableModelIndex = -1;
             return;
         }
-        hybridSolver.lastUsableModelIndex = hybridSolver.models.size();
-        hybridSolver.models.add(model);
-        hybridSolver.negModels.add(negModel);
+        hybridSolver.lastUsableModelIndex = hybridSolver.modelStore.add(model, negModel);
+    }
+
+    static class ExtractedModel {
+
+        static final ExtractedModel INVALID = new ExtractedModel(null, null);
+
+        final ModelNode model;
+        final ModelNode negModel;
+
+        ExtractedModel(ModelNode model, ModelNode negModel) {
+            this.model = model;
+            this.negModel = negModel;
+        }
+
+        boolean isValid() {
+            return model != null;
+        }
     }
 
 }
@@ -2,15 +2,18 @@ package algorithms.hybrid;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 public class ModelNode extends TreeNode {
 
-    public Set<OWLAxiom> data;
+    public Set<OWLAxiom> data; // shared with the stored model, the axioms of the label are skipped instead of removed
     public boolean modelIsValid = true;
-    Set<OWLAxiom> lenghtOneExplanations = new HashSet<>();
+    int modelIndex = -1; // index of the stored negated model that is the data of the node
+    AxiomChain lenghtOneExplanations = AxiomChain.EMPTY;
 
     @Override
     public boolean equals(Object obj) {
@@ -21,15 +24,35 @@ public class ModelNode extends TreeNode {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(data);
+    }
+
+    public Collection<OWLAxiom> getLabel() {
+        return label;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return whether some axiom of the model is not in the label of the node
+     */
+    boolean hasChildren() {
+        return data.size() > label.stream().filter(data::contains).count();
+    }
+
     public void addLengthOneExplanations(List<OWLAxiom> explanations){
-        lenghtOneExplanations.addAll(explanations);
+        lenghtOneExplanations = lenghtOneExplanations.appendAll(explanations);
     }
 
     public void addLengthOneExplanationsFromNode(ModelNode node){
-        lenghtOneExplanations.addAll(node.lenghtOneExplanations);
+        lenghtOneExplanations = node.lenghtOneExplanations.appendAll(lenghtOneExplanations);
     }
 
     public Set<OWLAxiom> getLengthOneExplanations(){
-        return lenghtOneExplanations;
+        return new HashSet<>(lenghtOneExplanations);
     }
 }
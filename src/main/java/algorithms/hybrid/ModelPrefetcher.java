@@ -0,0 +1,153 @@
+package algorithms.hybrid;
+
+import algorithms.hybrid.ModelExtractor.ExtractedModel;
+import common.Configuration;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import reasoner.IReasonerManager;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Speculatively probes the paths of the nodes of the current level of the HS-tree on pooled reasoners.
+ * The tree is still built sequentially by the solver, so explanations, depth and timeouts behave as before:
+ * consistency verdicts are shared through the consistency index and a model extracted in advance is used
+ * only when the solver asks for the model of the same path. A path the solver reaches before a worker does
+ * is not probed again.
+ * The same probes serve the lookahead of QuickXplain, see {@link #speculate(List)}.
+ */
+class ModelPrefetcher {
+
+    private final HybridSolver hybridSolver;
+    private final ModelExtractor modelExtractor;
+    private final IReasonerManager reasonerManager;
+    private final boolean extractModels;
+    private final ForkJoinPool pool;
+    private final Map<Set<OWLAxiom>, Probe> probes = new ConcurrentHashMap<>();
+    private long usedModels = 0;
+
+    /**
+     * @param extractModels whether models are extracted too, otherwise only consistency verdicts are stored
+     */
+    ModelPrefetcher(HybridSolver hybridSolver, ModelExtractor modelExtractor, IReasonerManager reasonerManager, boolean extractModels) {
+        this.hybridSolver = hybridSolver;
+        this.modelExtractor = modelExtractor;
+        this.reasonerManager = reasonerManager;
+        this.extractModels = extractModels;
+        this.pool = new ForkJoinPool(Configuration.REASONER_POOL_SIZE, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    /**
+     * Schedules the paths of a new level in the order in which the solver will reach them.
+     * Probes of the previous level that were not used are dropped.
+     */
+    void prefetch(List<Set<OWLAxiom>> paths) {
+        discardProbes();
+        schedule(paths, extractModels);
+    }
+
+    /**
+     * Schedules consistency checks (with models) that QuickXplain is likely to need next.
+     */
+    void speculate(List<Set<OWLAxiom>> paths) {
+        schedule(paths, true);
+    }
+
+    private void schedule(List<Set<OWLAxiom>> paths, boolean extractModel) {
+        for (Set<OWLAxiom> path : paths) {
+            modelExtractor.removeNegObservation(path);
+            Probe probe = new Probe(path, extractModel);
+            if (probes.putIfAbsent(path, probe) == null) {
+                pool.execute(() -> run(probe));
+            }
+        }
+    }
+
+    /**
+     * @return the model extracted in advance for the path, or null if the solver has to extract it itself
+     */
+    ExtractedModel take(Set<OWLAxiom> path) {
+        Probe probe = probes.remove(path);
+        if (probe == null || probe.started.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            ExtractedModel extracted = probe.result.get();
+            if (extracted != null) {
+                usedModels++;
+            }
+            return extracted;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    void shutdown() {
+        discardProbes();
+        pool.shutdownNow();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void discardProbes() {
+        for (Probe probe : probes.values()) {
+            probe.started.set(true);
+        }
+        probes.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "Prefetched models used: " + usedModels;
+    }
+
+    private void run(Probe probe) {
+        if (!probe.started.compareAndSet(false, true)) {
+            return;
+        }
+        if (!probe.extractModel) {
+            probes.remove(probe.path);
+        }
+        if (hybridSolver.isTimeout()
+                || !probe.extractModel && modelExtractor.getConsistencyIndex().getVerdict(probe.path) != null) {
+            probe.result.complete(null);
+            return;
+        }
+        IReasonerManager worker = reasonerManager.lease();
+        try {
+            ModelExtractor extractor = modelExtractor.forWorker(worker);
+            if (probe.extractModel) {
+                probe.result.complete(extractor.extractModel(new HashSet<>(probe.path)));
+            } else {
+                if (extractor.isOntologyConsistentWithPath(new HashSet<>(probe.path))) {
+                    extractor.deletePathFromOntology();
+                }
+                probe.result.complete(null);
+            }
+        } catch (Throwable e) {
+            probe.result.completeExceptionally(e);
+        } finally {
+            reasonerManager.release(worker);
+        }
+    }
+
+    private static class Probe {
+
+        private final Set<OWLAxiom> path;
+        private final boolean extractModel;
+        private final AtomicBoolean started = new AtomicBoolean(false);
+        private final CompletableFuture<ExtractedModel> result = new CompletableFuture<>();
+
+        Probe(Set<OWLAxiom> path, boolean extractModel) {
+            this.path = path;
+            this.extractModel = extractModel;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package algorithms.hybrid;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+/**
+ * Models found by the solver (and their negations), indexed by the axioms they contain.
+ * For every axiom there is a posting list of the models containing it, so models covering a path are found
+ * by intersecting the posting lists of the axioms of the path. Equal models are stored only once.
+ * The lists of models of the solver are kept in the order in which the models were added.
+ */
+class ModelStore {
+
+    private final AxiomDictionary dictionary;
+    private final List<ModelNode> models;
+    private final List<ModelNode> negModels;
+    private final Map<BitSet, Integer> indexByData = new HashMap<>();
+    private final List<BitSet> postings = new ArrayList<>();
+
+    ModelStore(AxiomDictionary dictionary, List<ModelNode> models, List<ModelNode> negModels) {
+        this.dictionary = dictionary;
+        this.models = models;
+        this.negModels = negModels;
+    }
+
+    /**
+     * @return index of the stored model equal to the given one, or -1
+     */
+    int indexOf(ModelNode model) {
+        return indexByData.getOrDefault(dictionary.toBitSet(model.data), -1);
+    }
+
+    /**
+     * Stores the model and its negation unless an equal model is already stored.
+     * @return index of the model in the lists of models
+     */
+    int add(ModelNode model, ModelNode negModel) {
+        BitSet dataIds = dictionary.toBitSet(model.data);
+        Integer existing = indexByData.get(dataIds);
+        if (existing != null) {
+            return existing;
+        }
+        int index = models.size();
+        models.add(model);
+        negModels.add(negModel);
+        indexByData.put(dataIds, index);
+        for (int id = dataIds.nextSetBit(0); id >= 0; id = dataIds.nextSetBit(id + 1)) {
+            while (postings.size() <= id) {
+                postings.add(null);
+            }
+            if (postings.get(id) == null) {
+                postings.set(id, new BitSet());
+            }
+            postings.get(id).set(index);
+        }
+        return index;
+    }
+
+    /**
+     * @return index of the last added model containing all axioms of the path, or -1
+     */
+    int findCovering(Collection<OWLAxiom> path) {
+        BitSet candidates = null;
+        for (OWLAxiom axiom : path) {
+            int id = dictionary.getId(axiom);
+            BitSet posting = id < postings.size() ? postings.get(id) : null;
+            if (posting == null) {
+                return -1;
+            }
+            if (candidates == null) {
+                candidates = (BitSet) posting.clone();
+            } else {
+                candidates.and(posting);
+            }
+            if (candidates.isEmpty()) {
+                return -1;
+            }
+        }
+        if (candidates == null) {
+            return models.size() - 1;
+        }
+        return candidates.length() - 1;
+    }
+}
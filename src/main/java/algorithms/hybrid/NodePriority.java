@@ -0,0 +1,10 @@
+package algorithms.hybrid;
+
+/**
+ * Built-in priorities of the best-first search.
+ */
+public enum NodePriority {
+    LENGTH,
+    MODEL,
+    USEFULNESS
+}
@@ -0,0 +1,76 @@
+package algorithms.hybrid;
+
+import java.util.*;
+
+/**
+ * Queue of nodes of the HS-tree ordered by their priority, nodes with the same priority are kept in the order
+ * in which they were added.
+ */
+class PriorityNodeQueue extends AbstractQueue<TreeNode> {
+
+    private final INodePriority priority;
+    private final PriorityQueue<Entry> entries = new PriorityQueue<>();
+    private long added = 0;
+
+    PriorityNodeQueue(INodePriority priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public boolean offer(TreeNode node) {
+        entries.add(new Entry(node, priority.getPriority((ModelNode) node), added++));
+        return true;
+    }
+
+    @Override
+    public TreeNode poll() {
+        Entry entry = entries.poll();
+        return entry == null ? null : entry.node;
+    }
+
+    @Override
+    public TreeNode peek() {
+        Entry entry = entries.peek();
+        return entry == null ? null : entry.node;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public Iterator<TreeNode> iterator() {
+        Iterator<Entry> iterator = entries.iterator();
+        return new Iterator<TreeNode>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public TreeNode next() {
+                return iterator.next().node;
+            }
+        };
+    }
+
+    private static class Entry implements Comparable<Entry> {
+
+        private final TreeNode node;
+        private final double priority;
+        private final long order;
+
+        Entry(TreeNode node, double priority, long order) {
+            this.node = node;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Double.compare(priority, other.priority);
+            return result != 0 ? result : Long.compare(order, other.order);
+        }
+    }
+}
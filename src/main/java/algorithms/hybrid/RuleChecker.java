@@ -17,25 +17,43 @@ public class RuleChecker implements IRuleChecker {
     private final ILoader loader;
     private final IReasonerManager reasonerManager;
 
+    private final ConsistencyIndex consistencyIndex;
+    private final ExplanationIndex explanationIndex;
+
     RuleChecker(ILoader loader, IReasonerManager reasonerManager) {
+        this(loader, reasonerManager, null, new AxiomDictionary());
+    }
+
+    RuleChecker(ILoader loader, IReasonerManager reasonerManager, ConsistencyIndex consistencyIndex, AxiomDictionary axiomDictionary) {
         this.loader = loader;
         this.reasonerManager = reasonerManager;
+        this.consistencyIndex = consistencyIndex;
+        this.explanationIndex = new ExplanationIndex(axiomDictionary);
     }
 
     @Override
     public boolean isConsistent(Explanation explanation) {
-        reasonerManager.resetOntology(loader.getInitialOntology().axioms());
+        reasonerManager.resetOntologyToInitial();
         reasonerManager.addAxiomsToOntology(explanation.getOwlAxioms());
         boolean isConsistent = reasonerManager.isOntologyConsistent();
-        reasonerManager.resetOntology(loader.getOriginalOntology().axioms());
+        reasonerManager.resetOntologyToOriginal();
         return isConsistent;
     }
 
     @Override
     public boolean isExplanation(Explanation explanation) {
-        reasonerManager.addAxiomsToOntology(explanation.getOwlAxioms());
+        if (consistencyIndex != null) {
+            Boolean knownVerdict = consistencyIndex.getVerdict(explanation.getOwlAxioms());
+            if (knownVerdict != null) {
+                return !knownVerdict;
+            }
+        }
+        reasonerManager.push(explanation.getOwlAxioms());
         boolean isConsistent = reasonerManager.isOntologyConsistent();
-        reasonerManager.resetOntology(loader.getOriginalOntology().axioms());
+        reasonerManager.pop();
+        if (consistencyIndex != null) {
+            consistencyIndex.addVerdict(explanation.getOwlAxioms(), isConsistent);
+        }
         return !isConsistent;
     }
 
@@ -45,12 +63,7 @@ public class RuleChecker implements IRuleChecker {
             return false;
         }
 
-        for (Explanation minimalExplanation : explanationList) {
-            if (explanation.getOwlAxioms().containsAll(minimalExplanation.getOwlAxioms())) {
-                return false;
-            }
-        }
-        return true;
+        return !explanationIndex.containsSubsetOf(explanationList, explanation.getOwlAxioms());
     }
 
     @Override
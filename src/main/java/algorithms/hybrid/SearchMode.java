@@ -0,0 +1,10 @@
+package algorithms.hybrid;
+
+/**
+ * Order in which the HS-tree is searched.
+ */
+public enum SearchMode {
+    BFS,
+    IDDFS,
+    BEST_FIRST
+}
@@ -6,6 +6,9 @@ import models.Explanation;
 import models.Axioms;
 import org.semanticweb.owlapi.model.OWLAxiom;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
 public class SetDivider {
@@ -188,4 +191,47 @@ public class SetDivider {
         }
     }
 
+    /**
+     * Writes the statistics of cached conflicts, axioms are written as their IDs.
+     */
+    void save(DataOutput out, AxiomDictionary dictionary) throws IOException {
+        out.writeInt(tableOfAxiomPairOccurance.size());
+        for (Map.Entry<AxiomPair, Integer> entry : tableOfAxiomPairOccurance.entrySet()) {
+            out.writeInt(dictionary.getId(entry.getKey().first));
+            out.writeInt(dictionary.getId(entry.getKey().second));
+            out.writeInt(entry.getValue());
+        }
+        out.writeInt(numberOfAxiomPairOccurance.size());
+        for (Integer value : numberOfAxiomPairOccurance) {
+            out.writeInt(value);
+        }
+        out.writeDouble(median);
+        out.writeInt(notUsedExplanations.size());
+        for (Integer index : notUsedExplanations) {
+            out.writeInt(index);
+        }
+        out.writeInt(lastUsedIndex);
+    }
+
+    /**
+     * Reads the statistics written by {@link #save(DataOutput, AxiomDictionary)}, the axiom with ID i is the i-th given axiom.
+     */
+    void restore(DataInput in, List<OWLAxiom> axioms) throws IOException {
+        int pairCount = in.readInt();
+        for (int i = 0; i < pairCount; i++) {
+            AxiomPair axiomPair = new AxiomPair(axioms.get(in.readInt()), axioms.get(in.readInt()));
+            tableOfAxiomPairOccurance.put(axiomPair, in.readInt());
+        }
+        int occurrenceCount = in.readInt();
+        for (int i = 0; i < occurrenceCount; i++) {
+            numberOfAxiomPairOccurance.add(in.readInt());
+        }
+        median = in.readDouble();
+        int notUsedCount = in.readInt();
+        for (int i = 0; i < notUsedCount; i++) {
+            notUsedExplanations.add(in.readInt());
+        }
+        lastUsedIndex = in.readInt();
+    }
+
 }
@@ -0,0 +1,93 @@
+package algorithms.hybrid;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Set-trie over sets of integer IDs, each set stored as a path of its sorted elements.
+ * Answers whether some stored set is a subset or a superset of a given set.
+ */
+public class SetTrie {
+
+    private final Node root;
+    private int size;
+
+    public SetTrie() {
+        root = new Node();
+        size = 0;
+    }
+
+    /**
+     * Creates a copy of the given set-trie, later changes of either of them do not affect the other.
+     */
+    public SetTrie(SetTrie other) {
+        root = other.root.copy();
+        size = other.size;
+    }
+
+    /**
+     * @param set sorted array of distinct IDs
+     */
+    public void add(int[] set) {
+        Node node = root;
+        for (int element : set) {
+            node = node.children.computeIfAbsent(element, k -> new Node());
+        }
+        if (!node.isEnd) {
+            node.isEnd = true;
+            size++;
+        }
+    }
+
+    public boolean containsSubsetOf(int[] set) {
+        return containsSubsetOf(root, set, 0);
+    }
+
+    public boolean containsSupersetOf(int[] set) {
+        return containsSupersetOf(root, set, 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean containsSubsetOf(Node node, int[] set, int position) {
+        if (node.isEnd) {
+            return true;
+        }
+        for (int i = position; i < set.length; i++) {
+            Node child = node.children.get(set[i]);
+            if (child != null && containsSubsetOf(child, set, i + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsSupersetOf(Node node, int[] set, int position) {
+        if (position == set.length) {
+            return node.isEnd || !node.children.isEmpty();
+        }
+        for (Map.Entry<Integer, Node> entry : node.children.headMap(set[position], true).entrySet()) {
+            int nextPosition = entry.getKey() == set[position] ? position + 1 : position;
+            if (containsSupersetOf(entry.getValue(), set, nextPosition)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Node {
+        private final TreeMap<Integer, Node> children = new TreeMap<>();
+        private boolean isEnd = false;
+
+        private Node copy() {
+            Node copy = new Node();
+            copy.isEnd = isEnd;
+            for (Map.Entry<Integer, Node> entry : children.entrySet()) {
+                copy.children.put(entry.getKey(), entry.getValue().copy());
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package algorithms.hybrid;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+/**
+ * FIFO queue of nodes of the HS-tree that keeps at most the given number of nodes in memory.
+ * When the limit is reached, new nodes are appended to a memory-mapped log file, encoded as axiom IDs of the label
+ * and the index of the stored negated model that is the data of the node. Spilled nodes are read back in order,
+ * once the nodes in memory are used up.
+ */
+class SpillingNodeQueue extends AbstractQueue<TreeNode> implements AutoCloseable {
+
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private final AxiomDictionary dictionary;
+    private final List<ModelNode> negModels;
+    private final int memoryLimit;
+    private final ArrayDeque<TreeNode> nodesInMemory = new ArrayDeque<>();
+    private int spilledCount = 0;
+    private long spilledTotal = 0;
+
+    private File file;
+    private FileChannel channel;
+    private MappedByteBuffer writeBuffer;
+    private long writePosition = 0;
+    private MappedByteBuffer readBuffer;
+    private long readPosition = 0;
+
+    /**
+     * @param negModels stored negated models of the solver, spilled nodes refer to them by index
+     */
+    SpillingNodeQueue(AxiomDictionary dictionary, List<ModelNode> negModels, int memoryLimit) {
+        this.dictionary = dictionary;
+        this.negModels = negModels;
+        this.memoryLimit = memoryLimit;
+    }
+
+    /**
+     * @return nodes at the front of the queue, which are in memory
+     */
+    Collection<TreeNode> getNodesInMemory() {
+        return Collections.unmodifiableCollection(nodesInMemory);
+    }
+
+    long getSpilledTotal() {
+        return spilledTotal;
+    }
+
+    @Override
+    public boolean offer(TreeNode node) {
+        if (spilledCount == 0 && nodesInMemory.size() < memoryLimit) {
+            nodesInMemory.add(node);
+        } else {
+            write(encode((ModelNode) node));
+            spilledCount++;
+            spilledTotal++;
+        }
+        return true;
+    }
+
+    @Override
+    public TreeNode poll() {
+        if (nodesInMemory.isEmpty()) {
+            while (spilledCount > 0 && nodesInMemory.size() < memoryLimit) {
+                nodesInMemory.add(decode(read()));
+                spilledCount--;
+            }
+            if (spilledCount == 0) {
+                readPosition = writePosition = 0;
+                readBuffer = writeBuffer = null;
+            }
+        }
+        return nodesInMemory.poll();
+    }
+
+    @Override
+    public TreeNode peek() {
+        if (nodesInMemory.isEmpty() && spilledCount > 0) {
+            nodesInMemory.add(decode(read()));
+            spilledCount--;
+        }
+        return nodesInMemory.peek();
+    }
+
+    @Override
+    public int size() {
+        return nodesInMemory.size() + spilledCount;
+    }
+
+    /**
+     * Nodes in memory are followed by the spilled nodes, which are decoded one by one.
+     */
+    @Override
+    public Iterator<TreeNode> iterator() {
+        Iterator<TreeNode> inMemory = getNodesInMemory().iterator();
+        return new Iterator<TreeNode>() {
+            private long position = readPosition;
+            private int remaining = spilledCount;
+
+            @Override
+            public boolean hasNext() {
+                return inMemory.hasNext() || remaining > 0;
+            }
+
+            @Override
+            public TreeNode next() {
+                if (inMemory.hasNext()) {
+                    return inMemory.next();
+                }
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int[] record = readAt(position);
+                position += 4L * (record.length + 1);
+                remaining--;
+                return decode(record);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ignored) {
+        } finally {
+            readBuffer = writeBuffer = null;
+            if (file != null && !file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    private int[] encode(ModelNode node) {
+        int[] record = new int[3 + node.label.size() + node.lenghtOneExplanations.size()];
+        record[0] = node.depth;
+        record[1] = node.modelIndex;
+        record[2] = node.label.size();
+        int i = 3;
+        for (OWLAxiom axiom : node.label) {
+            record[i++] = dictionary.getId(axiom);
+        }
+        for (OWLAxiom axiom : node.lenghtOneExplanations) {
+            record[i++] = dictionary.getId(axiom);
+        }
+        return record;
+    }
+
+    private ModelNode decode(int[] record) {
+        ModelNode node = new ModelNode();
+        node.depth = record[0];
+        node.modelIndex = record[1];
+        node.data = negModels.get(node.modelIndex).data;
+        AxiomChain label = AxiomChain.EMPTY;
+        for (int i = 3; i < 3 + record[2]; i++) {
+            label = label.append(dictionary.getAxiom(record[i]));
+        }
+        node.label = label;
+        List<OWLAxiom> lengthOneExplanations = new ArrayList<>();
+        for (int i = 3 + record[2]; i < record.length; i++) {
+            lengthOneExplanations.add(dictionary.getAxiom(record[i]));
+        }
+        node.addLengthOneExplanations(lengthOneExplanations);
+        return node;
+    }
+
+    private void write(int[] record) {
+        int size = 4 * (record.length + 1);
+        try {
+            if (channel == null) {
+                file = File.createTempFile("mhs-mxp-frontier", ".log");
+                file.deleteOnExit();
+                channel = new RandomAccessFile(file, "rw").getChannel();
+            }
+            if (writeBuffer == null || writeBuffer.remaining() < size) {
+                writeBuffer = channel.map(FileChannel.MapMode.READ_WRITE, writePosition, Math.max(SEGMENT_SIZE, size));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write the frontier of the HS-tree to " + file, e);
+        }
+        writeBuffer.putInt(record.length);
+        for (int value : record) {
+            writeBuffer.putInt(value);
+        }
+        writePosition += size;
+    }
+
+    private int[] read() {
+        if (readBuffer == null || readBuffer.remaining() < 4 || readBuffer.remaining() < 4 + 4 * readBuffer.getInt(readBuffer.position())) {
+            readBuffer = map(readPosition, 4);
+            int size = 4 + 4 * readBuffer.getInt(0);
+            if (readBuffer.capacity() < size) {
+                readBuffer = map(readPosition, size);
+            }
+        }
+        int[] record = new int[readBuffer.getInt()];
+        for (int i = 0; i < record.length; i++) {
+            record[i] = readBuffer.getInt();
+        }
+        readPosition += 4L * (record.length + 1);
+        return record;
+    }
+
+    private int[] readAt(long position) {
+        MappedByteBuffer buffer = map(position, 4);
+        int length = buffer.getInt(0);
+        buffer = map(position, 4 + 4 * length);
+        int[] record = new int[length];
+        for (int i = 0; i < length; i++) {
+            record[i] = buffer.getInt(4 + 4 * i);
+        }
+        return record;
+    }
+
+    // maps a segment starting at the position, it has at least the given size and does not reach past the written data
+    private MappedByteBuffer map(long position, int minimalSize) {
+        long size = Math.min(writePosition - position, Math.max(SEGMENT_SIZE, minimalSize));
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the frontier of the HS-tree from " + file, e);
+        }
+    }
+}
@@ -1,11 +1,7 @@
 package algorithms.hybrid;
 
-import org.semanticweb.owlapi.model.OWLAxiom;
-
-import java.util.Collection;
-
 abstract class TreeNode {
 
-    Collection<OWLAxiom> label;
+    AxiomChain label;
     Integer depth;
 }
@@ -1,12 +1,16 @@
 package api_implementation;
 
 import algorithms.hybrid.ExplanationManager;
+import common.Configuration;
 import models.Explanation;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyStorageException;
 import reasoner.ILoader;
 import reasoner.IReasonerManager;
 
+import java.util.Collections;
+import java.util.List;
+
 public class ApiExplanationManager extends ExplanationManager {
 
     private final MhsMxpAbductionManager abductionManager;
@@ -19,16 +23,28 @@ public class ApiExplanationManager extends ExplanationManager {
 
     public void addPossibleExplanation(Explanation explanation) {
         possibleExplanations.add(explanation);
-        try {
-            if (abductionManager.isMultithread())
-                abductionManager.sendExplanation(explanation.createExplanationWrapper());
-        } catch(InterruptedException ignored){}
+        if (Configuration.ANYTIME) {
+            verifyInBackground(explanation);
+            sendExplanations(takeConfirmedExplanations());
+        } else {
+            sendExplanations(Collections.singletonList(explanation));
+        }
     }
 
     public void processExplanations(String message) throws OWLOntologyCreationException, OWLOntologyStorageException {
         if (! (message == null))
             abductionManager.setMessage(message);
         showExplanations();
+        sendExplanations(takeConfirmedExplanations());
         abductionManager.setExplanations(finalExplanations);
     }
+
+    // the monitor is owned by the solving thread, so explanations confirmed in the background are sent from it
+    private void sendExplanations(List<Explanation> explanations) {
+        try {
+            if (abductionManager.isMultithread())
+                for (Explanation explanation : explanations)
+                    abductionManager.sendExplanation(explanation.createExplanationWrapper());
+        } catch(InterruptedException ignored){}
+    }
 }
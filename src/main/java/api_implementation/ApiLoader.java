@@ -3,7 +3,6 @@ package api_implementation;
 import abduction_api.abducible.AxiomAbducibleContainer;
 import models.Abducibles;
 import models.Individuals;
-import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import parser.IObservationParser;
 import parser.PrefixesParser;
@@ -37,15 +36,7 @@ public class ApiLoader extends Loader {
         observationOntologyFormat = ontology.getFormat();
         ontologyIRI = ontology.getOntologyID().getOntologyIRI().toString();
 
-        originalOntology = ontologyManager.createOntology();
-        copyOntology(ontology, originalOntology);
-
-        initialOntology = ontologyManager.createOntology();
-        copyOntology(ontology, initialOntology);
-    }
-
-    private void copyOntology(OWLOntology oldOntology, OWLOntology newOntology){
-        ontologyManager.addAxioms(newOntology, oldOntology.getAxioms());
+        createSnapshots();
     }
 
     @Override
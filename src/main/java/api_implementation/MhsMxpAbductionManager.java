@@ -7,6 +7,8 @@ import abduction_api.manager.MultiObservationManager;
 import abduction_api.manager.ThreadAbductionManager;
 import abduction_api.monitor.AbductionMonitor;
 import algorithms.hybrid.HybridSolver;
+import algorithms.hybrid.IncrementalState;
+import algorithms.hybrid.KnowledgeBaseIndex;
 import common.Configuration;
 import file_logger.FileLogger;
 import models.Explanation;
@@ -34,6 +36,7 @@ public class MhsMxpAbductionManager implements MultiObservationManager, ThreadAb
     int depth = 0;
     boolean pureMhs = false;
     boolean strictRelevance = true;
+    boolean incremental = false;
 
     boolean multithread = false;
 
@@ -158,6 +161,11 @@ public class MhsMxpAbductionManager implements MultiObservationManager, ThreadAb
                             setStrictRelevance(strictRelevance);
                             i++;
                             continue;
+                        case "-incremental":
+                            boolean incremental = Boolean.parseBoolean(arguments[i + 1]);
+                            setIncremental(incremental);
+                            i++;
+                            continue;
                         default:
                             throw new InvalidSolverParameterException(arguments[i], "Unknown solver argument");
                     }
@@ -174,13 +182,22 @@ public class MhsMxpAbductionManager implements MultiObservationManager, ThreadAb
         setDepth(0);
         setPureMhs(false);
         setStrictRelevance(true);
+        setIncremental(false);
     }
 
     @Override
     public void solveAbduction() {
         clearResults();
-        setupSolver();
-        solve();
+        try {
+            setupSolver();
+            solve();
+        } finally {
+            // the manager follows the ontology manager of the background knowledge, which belongs to the caller
+            if (reasonerManager != null) {
+                reasonerManager.dispose();
+                reasonerManager = null;
+            }
+        }
     }
 
     private void clearResults() {
@@ -196,7 +213,7 @@ public class MhsMxpAbductionManager implements MultiObservationManager, ThreadAb
         ApiPrinter printer = new ApiPrinter(this);
 
         try {
-            loader.initialize(ReasonerType.JFACT);
+            loader.initialize(Configuration.REASONER);
         } catch (Exception e){
             printer.logError("An error occurred while initialising the internal reasoner: ",e);
             return;
@@ -213,7 +230,13 @@ public class MhsMxpAbductionManager implements MultiObservationManager, ThreadAb
 
         setSolverConfiguration();
 
+        IncrementalState previousRun = incremental && solver != null ? solver.getIncrementalState() : null;
+        KnowledgeBaseIndex knowledgeBaseIndex = incremental && solver != null ? solver.getKnowledgeBaseIndex() : null;
         solver = new HybridSolver(timer, explanationManager, progressManager, printer);
+        if (incremental) {
+            solver.setIncremental(previousRun);
+            solver.setKnowledgeBaseIndex(knowledgeBaseIndex);
+        }
 
     }
 
@@ -354,6 +377,19 @@ public class MhsMxpAbductionManager implements MultiObservationManager, ThreadAb
         this.strictRelevance = strictRelevance;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * In the incremental mode, each call of {@link #solveAbduction()} reuses what is still valid from the previous one:
+     * consistency verdicts, stored models and final explanations, depending on what was changed in the background
+     * knowledge, the abducibles and the observation.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     void appendToLog(String message){
         logs.append(message);
         logs.append('\n');
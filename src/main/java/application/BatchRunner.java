@@ -0,0 +1,124 @@
+package application;
+
+import algorithms.hybrid.ConsoleExplanationManager;
+import algorithms.hybrid.HybridSolver;
+import algorithms.hybrid.KnowledgeBaseIndex;
+import common.Configuration;
+import common.ConsolePrinter;
+import file_logger.FileLogger;
+import progress.ConsoleProgressManager;
+import reasoner.BatchLoader;
+import reasoner.IReasonerManager;
+import reasoner.ReasonerManager;
+import timer.ThreadTimes;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Solves the observations of a batch manifest against one knowledge base, see {@link BatchLoader}.
+ * Each line of the manifest is an observation in the form of the -o switch, optionally followed by -abdF: with
+ * a file of abducibles for that observation. Every observation has its own solver, timer and logs, named after
+ * the input file and the number of the observation. The batch log records the result of each observation
+ * and the throughput of the whole batch.
+ */
+public class BatchRunner {
+
+    private static final String ABDUCIBLES_SWITCH = " -abdF: ";
+
+    private final Logger logger;
+
+    public BatchRunner(Logger logger) {
+        this.logger = logger;
+    }
+
+    public void run() throws Exception {
+        List<String[]> entries = readManifest(Configuration.BATCH_MANIFEST);
+        String observation = Configuration.OBSERVATION;
+        String inputFileName = Configuration.INPUT_FILE_NAME;
+        String defaultAbduciblesFile = Configuration.ABDUCIBLES_FILE_NAME;
+        long currentTimeMillis = System.currentTimeMillis();
+        ConsolePrinter printer = new ConsolePrinter(logger);
+
+        BatchLoader loader = new BatchLoader();
+        loader.initialize(Configuration.REASONER);
+        // the reasoners and the pool are reused, each observation starts from the original ontology
+        IReasonerManager reasonerManager = new ReasonerManager(loader);
+
+        long start = System.nanoTime();
+        int solved = 0;
+        // the knowledge base is the same for all observations, so is its index
+        KnowledgeBaseIndex knowledgeBaseIndex = null;
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                String entryObservation = entries.get(i)[0];
+                Configuration.OBSERVATION = entryObservation;
+                Configuration.ABDUCIBLES_FILE_NAME = entries.get(i)[1] == null ? defaultAbduciblesFile : entries.get(i)[1];
+                Configuration.INPUT_FILE_NAME = inputFileName + "_" + (i + 1);
+
+                ThreadTimes threadTimes = new ThreadTimes(100);
+                threadTimes.start();
+                String result;
+                try {
+                    loader.loadNextObservation();
+                    HybridSolver solver = new HybridSolver(threadTimes, new ConsoleExplanationManager(loader, reasonerManager),
+                            new ConsoleProgressManager(), printer);
+                    solver.setKnowledgeBaseIndex(knowledgeBaseIndex);
+                    solver.solve(loader, reasonerManager);
+                    if (solver.getKnowledgeBaseIndex() != null) {
+                        knowledgeBaseIndex = solver.getKnowledgeBaseIndex();
+                    }
+                    result = String.valueOf(solver.getExplanationManager().getFinalExplanations().size());
+                    solved++;
+                } catch (Throwable e) {
+                    printer.logError("An error occurred at observation " + (i + 1) + ": ", e);
+                    result = "error";
+                } finally {
+                    reasonerManager.resetOntologyToOriginal();
+                    threadTimes.interrupt();
+                }
+
+                // the batch log is named after the input file
+                Configuration.INPUT_FILE_NAME = inputFileName;
+                String line = String.format("%d;%s;%.2f;%s\n", i + 1, result, threadTimes.getTotalUserTimeInSec(), entryObservation);
+                FileLogger.appendToFile(FileLogger.BATCH_LOG_FILE__PREFIX, currentTimeMillis, line);
+            }
+        } finally {
+            reasonerManager.dispose();
+            Configuration.OBSERVATION = observation;
+            Configuration.INPUT_FILE_NAME = inputFileName;
+            Configuration.ABDUCIBLES_FILE_NAME = defaultAbduciblesFile;
+        }
+
+        double minutes = (System.nanoTime() - start) / 60e9;
+        String summary = String.format("%d observations, %d solved, %.2f observations per minute",
+                entries.size(), solved, minutes > 0 ? entries.size() / minutes : 0);
+        FileLogger.appendToFile(FileLogger.BATCH_LOG_FILE__PREFIX, currentTimeMillis, summary);
+        printer.print(summary);
+    }
+
+    // pairs of an observation and its abducibles file, or null
+    private List<String[]> readManifest(String manifest) throws IOException {
+        List<String[]> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(manifest))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int abducibles = line.indexOf(ABDUCIBLES_SWITCH);
+                if (abducibles == -1) {
+                    entries.add(new String[]{line, null});
+                } else {
+                    entries.add(new String[]{line.substring(0, abducibles).trim(), line.substring(abducibles + ABDUCIBLES_SWITCH.length()).trim()});
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -1,5 +1,7 @@
 package common;
 
+import algorithms.hybrid.NodePriority;
+import algorithms.hybrid.SearchMode;
 import reasoner.ReasonerType;
 
 import java.util.ArrayList;
@@ -10,7 +12,7 @@ public class Configuration {
     public static String INPUT_FILE_NAME = "";
     public static String OUTPUT_PATH = "";
     public static String ABDUCIBLES_FILE_NAME = null;
-    public static ReasonerType REASONER = ReasonerType.JFACT;     // we work only with JFact for now
+    public static ReasonerType REASONER = ReasonerType.JFACT;
     public static Integer DEPTH;
     public static Long TIMEOUT;
     public static ArrayList<String> ABDUCIBLES_CONCEPTS = new ArrayList<>();
@@ -21,9 +23,21 @@ public class Configuration {
     public static boolean NEGATION_ALLOWED = true;
     public static boolean LOOPING_ALLOWED = true;
     public static boolean MHS_MODE = false;
+    public static SearchMode SEARCH_MODE = SearchMode.BFS;
+    public static NodePriority NODE_PRIORITY = NodePriority.LENGTH;
+    public static int FRONTIER_MEMORY_LIMIT = 0;
+    public static String CHECKPOINT_FILE = null;
+    public static String RESUME_FILE = null;
     public static boolean ROLES_IN_EXPLANATIONS_ALLOWED = false; // unstable for now
     public static boolean STRICT_RELEVANCE = true;
     public static boolean PRINT_PROGRESS = false;
+    public static boolean ANYTIME = false;
+    public static int CONSISTENCY_CACHE_SIZE = 10000;
+    public static int REASONER_POOL_SIZE = 1;
+    public static int MXP_SEQUENTIAL_CUTOFF = 32;
+    public static int QXP_LOOKAHEAD = 0;
+    public static String ONTOLOGY_CACHE_DIR = null;
+    public static String BATCH_MANIFEST = null;
 
     //constants set before run program
     public static boolean REUSE_OF_MODELS = true;
@@ -21,6 +21,8 @@ public class FileLogger {
     public static final String HYBRID_EXP_TIMES_LOG_FILE__PREFIX = "hybrid_explanation_times";
     public static final String HYBRID_PARTIAL_EXPLANATIONS_LOG_FILE__PREFIX = "hybrid_partial_explanations";
     public static final String HYBRID_PARTIAL_EXPLANATIONS_ACCORDING_TO_LEVELS_LOG_FILE__PREFIX = "hybrid_partial_level_explanations";
+    public static final String HYBRID_CONFIRMED_EXPLANATIONS_LOG_FILE__PREFIX = "hybrid_confirmed_explanations";
+    public static final String BATCH_LOG_FILE__PREFIX = "batch";
     public static final String LOG_FILE__POSTFIX = ".log";
     private static String FILE_DIRECTORY = "";
 
@@ -1,5 +1,7 @@
 package parser;
 
+import algorithms.hybrid.NodePriority;
+import algorithms.hybrid.SearchMode;
 import common.Configuration;
 import common.DLSyntax;
 import reasoner.ReasonerType;
@@ -65,6 +67,21 @@ public class ArgumentParser {
                     String observation = String.join(" ", line).replace("-o: ", "");
                     Configuration.OBSERVATION = observation;
                     break;
+                case "-batch:":
+                    if (!(new File(next).exists())){
+                        String message = "Could not open -batch file " + next;
+                        throw new RuntimeException(message);
+                    }
+                    Configuration.BATCH_MANIFEST = next;
+                    break;
+                case "-ontologyCache:":
+                    File cacheDirectory = new File(next);
+                    if (cacheDirectory.exists() && !cacheDirectory.isDirectory()) {
+                        String message = "Wrong ontology cache directory -ontologyCache " + next + ", the path is not a directory";
+                        throw new RuntimeException(message);
+                    }
+                    Configuration.ONTOLOGY_CACHE_DIR = next;
+                    break;
                 case "-output:":
                     String path = String.join(" ", line).replace("-output: ", "");
                     if (path.matches("^[\\w\\\\/]*[\\w]+$")) {
@@ -75,18 +92,57 @@ public class ArgumentParser {
                     }
                     break;
 
-                    // Note: we work with only JFact reasoner for now
-
-//                case "-r:":
-//                    try {
-//                        Configuration.REASONER = ReasonerType.valueOf(next.toUpperCase());
-//                    }
-//                    catch (IllegalArgumentException e){
-//                        String message = "Reasoner type -r " + next + " is unknown, the only allowed reasoners are hermit|pellet|jfact");
-//                        throw new RuntimeException(message);
-//                    }
-//                    break;
-
+                case "-reasoner:":
+                    try {
+                        Configuration.REASONER = ReasonerType.valueOf(next.toUpperCase());
+                    }
+                    catch (IllegalArgumentException e){
+                        String message = "Reasoner type -reasoner " + next + " is unknown, the only allowed reasoners are jfact|hermit|pellet";
+                        throw new RuntimeException(message);
+                    }
+                    break;
+                case "-search:":
+                    try {
+                        Configuration.SEARCH_MODE = SearchMode.valueOf(next.toUpperCase());
+                    }
+                    catch (IllegalArgumentException e){
+                        String message = "Search mode -search " + next + " is unknown, the only allowed modes are bfs|iddfs|best_first";
+                        throw new RuntimeException(message);
+                    }
+                    break;
+                case "-priority:":
+                    try {
+                        Configuration.NODE_PRIORITY = NodePriority.valueOf(next.toUpperCase());
+                    }
+                    catch (IllegalArgumentException e){
+                        String message = "Node priority -priority " + next + " is unknown, the only allowed priorities are length|model|usefulness";
+                        throw new RuntimeException(message);
+                    }
+                    break;
+                case "-frontierLimit:":
+                    try {
+                        Configuration.FRONTIER_MEMORY_LIMIT = Integer.parseInt(next);
+                    }
+                    catch (NumberFormatException e) {
+                        String message = "Wrong frontier limit -frontierLimit " + next + ", choose a whole number value";
+                        throw new RuntimeException(message);
+                    }
+                    break;
+                case "-checkpoint:":
+                    File checkpointFile = new File(next);
+                    if (checkpointFile.isDirectory()) {
+                        String message = "Wrong checkpoint file -checkpoint " + next + ", the path is a directory";
+                        throw new RuntimeException(message);
+                    }
+                    Configuration.CHECKPOINT_FILE = next;
+                    break;
+                case "-resume:":
+                    if (!(new File(next).exists())){
+                        String message = "Could not open -resume file " + next;
+                        throw new RuntimeException(message);
+                    }
+                    Configuration.RESUME_FILE = next;
+                    break;
                 case "-d:":
                     try {
                         Configuration.DEPTH = Integer.valueOf(next);
@@ -140,6 +196,13 @@ public class ArgumentParser {
                         System.err.println("Wrong MHS mode value -mhs" + next + ", allowed values are 'true' and 'false'");
                     }
                     break;
+                case "-anytime:":
+                    if (next.equals("true")) {
+                        Configuration.ANYTIME = true;
+                    } else if (!next.equals("false")) {
+                        System.err.println("Wrong anytime mode value -anytime" + next + ", allowed values are 'true' and 'false'");
+                    }
+                    break;
                 case "-l:":
                     if (next.equals("false")) {
                         Configuration.LOOPING_ALLOWED = false;
@@ -167,6 +230,42 @@ public class ArgumentParser {
                         System.err.println("Wrong negation allowed value -n" + next + ", allowed values are 'true' and 'false'");
                     }
                     break;
+                case "-cacheSize:":
+                    try {
+                        Configuration.CONSISTENCY_CACHE_SIZE = Integer.parseInt(next);
+                    }
+                    catch (NumberFormatException e) {
+                        String message = "Wrong consistency cache size -cacheSize " + next + ", choose a whole number value";
+                        throw new RuntimeException(message);
+                    }
+                    break;
+                case "-threads:":
+                    try {
+                        Configuration.REASONER_POOL_SIZE = Integer.parseInt(next);
+                    }
+                    catch (NumberFormatException e) {
+                        String message = "Wrong number of threads -threads " + next + ", choose a whole number value";
+                        throw new RuntimeException(message);
+                    }
+                    break;
+                case "-mxpCutoff:":
+                    try {
+                        Configuration.MXP_SEQUENTIAL_CUTOFF = Integer.parseInt(next);
+                    }
+                    catch (NumberFormatException e) {
+                        String message = "Wrong sequential cutoff -mxpCutoff " + next + ", choose a whole number value";
+                        throw new RuntimeException(message);
+                    }
+                    break;
+                case "-qxpLookahead:":
+                    try {
+                        Configuration.QXP_LOOKAHEAD = Integer.parseInt(next);
+                    }
+                    catch (NumberFormatException e) {
+                        String message = "Wrong lookahead -qxpLookahead " + next + ", choose a whole number value";
+                        throw new RuntimeException(message);
+                    }
+                    break;
                 case "-abdF:":
                     if (!(new File(next).exists())){
                         String message = "Could not open -abdF file " + next;
@@ -179,8 +278,8 @@ public class ArgumentParser {
                     throw new RuntimeException(message);
             }
         }
-        if (Configuration.INPUT_ONT_FILE.equals("") || Configuration.OBSERVATION.equals("")){
-            String message = "Input file -f and observation -o are both required argument";
+        if (Configuration.INPUT_ONT_FILE.equals("") || Configuration.OBSERVATION.equals("") && Configuration.BATCH_MANIFEST == null){
+            String message = "Input file -f and observation -o (or a batch of observations -batch) are both required argument";
             throw new RuntimeException(message);
         }
         if (Configuration.REASONER == null) {
@@ -0,0 +1,66 @@
+package reasoner;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loader of many observations against one knowledge base. The ontology is loaded and checked by the reasoner once.
+ * The changes of the original ontology made for an observation (the negated observation, declarations of new
+ * individuals) are recorded, and before the next observation they are undone in the loaded ontology and in its
+ * original copy, so the parsed axioms and the reasoner are reused and only the observation and the abducibles
+ * are loaded again.
+ */
+public class BatchLoader extends ConsoleLoader {
+
+    private final Set<OWLAxiom> addedAxioms = new LinkedHashSet<>();
+    private final Set<OWLAxiom> removedAxioms = new LinkedHashSet<>();
+
+    @Override
+    public void initialize(ReasonerType reasonerType) {
+        loadReasoner(reasonerType);
+        ontologyManager.addOntologyChangeListener(this::recordChanges);
+    }
+
+    /**
+     * Loads the observation and the abducibles set in the configuration, in place of those of the previous observation.
+     * The working ontology has to be the original one, see {@link IReasonerManager#resetOntologyToOriginal()}.
+     */
+    public void loadNextObservation() throws Exception {
+        List<OWLAxiom> toRemove = new ArrayList<>(addedAxioms);
+        List<OWLAxiom> toAdd = new ArrayList<>(removedAxioms);
+        for (OWLOntology target : new OWLOntology[]{originalOntology, ontology}) {
+            ontologyManager.removeAxioms(target, toRemove);
+            ontologyManager.addAxioms(target, toAdd);
+        }
+        addedAxioms.clear();
+        removedAxioms.clear();
+        observation = null;
+        negObservation = null;
+        isMultipleObservationOnInput = false;
+        isAxiomBasedAbduciblesOnInput = false;
+
+        loadObservation();
+        loadPrefixes();
+        loadAbducibles();
+    }
+
+    private void recordChanges(List<? extends OWLOntologyChange> changes) {
+        for (OWLOntologyChange change : changes) {
+            if (change.getOntology() != originalOntology || !change.isAxiomChange()) {
+                continue;
+            }
+            OWLAxiom axiom = change.getAxiom();
+            if (change.isAddAxiom() && !removedAxioms.remove(axiom)) {
+                addedAxioms.add(axiom);
+            } else if (change.isRemoveAxiom() && !addedAxioms.remove(axiom)) {
+                removedAxioms.add(axiom);
+            }
+        }
+    }
+}
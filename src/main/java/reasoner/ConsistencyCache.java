@@ -0,0 +1,94 @@
+package reasoner;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+/**
+ * Bounded LRU cache of consistency verdicts. A verdict is keyed by the axioms added to and removed from
+ * the original ontology, so the order in which the assertions were added does not matter.
+ */
+public class ConsistencyCache {
+
+    private final int capacity;
+    private final Map<Key, Boolean> verdicts;
+    private long hits = 0;
+    private long misses = 0;
+
+    public ConsistencyCache(int capacity) {
+        this.capacity = capacity;
+        this.verdicts = new LinkedHashMap<Key, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > ConsistencyCache.this.capacity;
+            }
+        };
+    }
+
+    public Boolean get(Set<OWLAxiom> addedAxioms, Set<OWLAxiom> removedAxioms) {
+        if (capacity <= 0) {
+            return null;
+        }
+        Boolean verdict = verdicts.get(new Key(addedAxioms, removedAxioms));
+        if (verdict == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return verdict;
+    }
+
+    public void put(Set<OWLAxiom> addedAxioms, Set<OWLAxiom> removedAxioms, boolean isConsistent) {
+        if (capacity <= 0) {
+            return;
+        }
+        verdicts.put(new Key(new HashSet<>(addedAxioms), new HashSet<>(removedAxioms)), isConsistent);
+    }
+
+    public void clear() {
+        verdicts.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return "Consistency cache: " + hits + " hits, " + misses + " misses, " + verdicts.size() + " cached verdicts";
+    }
+
+    private static class Key {
+
+        private final Set<OWLAxiom> addedAxioms;
+        private final Set<OWLAxiom> removedAxioms;
+        private final int hash;
+
+        Key(Set<OWLAxiom> addedAxioms, Set<OWLAxiom> removedAxioms) {
+            this.addedAxioms = addedAxioms;
+            this.removedAxioms = removedAxioms;
+            this.hash = 31 * addedAxioms.hashCode() + removedAxioms.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && addedAxioms.equals(other.addedAxioms) && removedAxioms.equals(other.removedAxioms);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package reasoner;
 import common.Configuration;
 import common.ConsolePrinter;
 import models.Individuals;
-import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
 import parser.*;
 
@@ -28,9 +27,13 @@ public class ConsoleLoader extends Loader {
 
     @Override
     protected void setupOntology() throws OWLOntologyCreationException {
-        ontology = ontologyManager.loadOntologyFromOntologyDocument(new File(Configuration.INPUT_ONT_FILE));
-        originalOntology = OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(new File(Configuration.INPUT_ONT_FILE));
-        initialOntology = OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(new File(Configuration.INPUT_ONT_FILE));
+        File source = new File(Configuration.INPUT_ONT_FILE);
+        if (Configuration.ONTOLOGY_CACHE_DIR == null) {
+            ontology = ontologyManager.loadOntologyFromOntologyDocument(source);
+        } else {
+            ontology = new OntologyCache(Configuration.ONTOLOGY_CACHE_DIR).load(ontologyManager, source);
+        }
+        createSnapshots();
     }
 
     @Override
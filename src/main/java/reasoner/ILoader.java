@@ -6,16 +6,11 @@ import models.Individuals;
 import models.Observation;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
-import org.semanticweb.owlapi.reasoner.knowledgeexploration.OWLKnowledgeExplorerReasoner;
 
-public interface ILoader {
+public interface ILoader extends IReasonerLoader {
 
     void initialize(ReasonerType reasonerType) throws Exception;
 
-    void changeReasoner(ReasonerType reasonerType);
-
-    void initializeReasoner();
-
     Observation getObservation();
 
     void setObservation(OWLAxiom observation);
@@ -26,26 +21,14 @@ public interface ILoader {
 
     void setNegObservation(OWLAxiom negObservation);
 
-    OWLOntologyManager getOntologyManager();
-
-    OWLOntology getOntology();
-
-    OWLKnowledgeExplorerReasoner getReasoner();
-
     void setOWLReasonerFactory(OWLReasonerFactory reasonerFactory);
 
     String getOntologyIRI();
 
-    OWLDataFactory getDataFactory();
-
     Individuals getIndividuals();
 
     void addNamedIndividual(OWLNamedIndividual namedIndividual);
 
-    OWLOntology getOriginalOntology();
-
-    OWLOntology getInitialOntology();
-
     Abducibles getAbducibles();
 
     boolean isMultipleObservationOnInput();
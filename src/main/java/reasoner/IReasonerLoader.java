@@ -0,0 +1,44 @@
+package reasoner;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.knowledgeexploration.OWLKnowledgeExplorerReasoner;
+
+import java.util.Set;
+
+/**
+ * Ontologies and reasoners a {@link IReasonerManager} works with. Unlike {@link ILoader}, the input (observation,
+ * abducibles, individuals) cannot be read or changed through it, so it is all a pooled reasoner needs.
+ */
+public interface IReasonerLoader {
+
+    void changeReasoner(ReasonerType reasonerType);
+
+    /**
+     * Makes the consistency reasoner see the changes of the ontology.
+     */
+    void initializeReasoner();
+
+    /**
+     * Makes the model reasoner see the changes of the ontology. If it is not the consistency reasoner, it is
+     * flushed separately, only before a model is read.
+     */
+    void initializeModelReasoner();
+
+    OWLOntologyManager getOntologyManager();
+
+    OWLOntology getOntology();
+
+    OWLReasoner getReasoner();
+
+    OWLKnowledgeExplorerReasoner getModelReasoner();
+
+    OWLDataFactory getDataFactory();
+
+    OWLOntology getOriginalOntology();
+
+    Set<OWLAxiom> getInitialAxioms();
+}
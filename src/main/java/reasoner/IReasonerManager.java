@@ -1,12 +1,14 @@
 package reasoner;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
-import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyStorageException;
 
 import java.util.Collection;
-import java.util.stream.Stream;
+import java.util.List;
 
+/**
+ * Changes of the working ontology are collected and the reasoner is flushed once, right before the next query.
+ */
 public interface IReasonerManager {
 
     void addAxiomToOntology(OWLAxiom axiom);
@@ -15,10 +17,69 @@ public interface IReasonerManager {
 
     void removeAxiomFromOntology(OWLAxiom axiom);
 
-    void resetOntology(Stream<OWLAxiom> axioms);
+    /**
+     * Opens a new frame containing those of the given axioms that are not yet in the working ontology.
+     */
+    void push(Collection<OWLAxiom> axioms);
+
+    /**
+     * Removes the axioms added by the most recent {@link #push(Collection)}.
+     */
+    void pop();
+
+    /**
+     * Brings the working ontology back to the original ontology by undoing only the tracked changes.
+     * All open frames are discarded.
+     */
+    void resetOntologyToOriginal();
+
+    /**
+     * Brings the working ontology to the initial ontology (the original one without the negated observation).
+     */
+    void resetOntologyToInitial();
+
+    /**
+     * Makes the reasoner see the changes collected since the last flush. Consistency checks flush by themselves,
+     * this is needed only before the reasoner is read directly, e.g. when a model is extracted.
+     */
+    void flushChanges();
 
     boolean isOntologyConsistent();
 
-    boolean isOntologyWithLiteralsConsistent(Collection<OWLAxiom> axioms, OWLOntology ontology) throws OWLOntologyStorageException;
+    boolean isOntologyWithLiteralsConsistent(Collection<OWLAxiom> axioms) throws OWLOntologyStorageException;
+
+    /**
+     * Leases a reasoner manager with its own reasoner and its own copy of the original ontology, which can be used
+     * from another thread. Without a pool (see {@link common.Configuration#REASONER_POOL_SIZE}) this manager is returned.
+     */
+    IReasonerManager lease();
+
+    /**
+     * Like {@link #lease()}, but returns null instead of waiting if no pooled reasoner manager is free.
+     * Without a pool, null is returned too.
+     */
+    IReasonerManager tryLease();
+
+    /**
+     * Returns a leased reasoner manager to the pool, its ontology is reset to the original one.
+     */
+    void release(IReasonerManager reasonerManager);
+
+    /**
+     * Aborts the running reasoner calls of this manager and of its pooled reasoner managers, they throw
+     * a {@link org.semanticweb.owlapi.reasoner.ReasonerInterruptedException}. It can be called from any thread.
+     * An interrupted reasoner is replaced by a new one before the next query.
+     */
+    void interrupt();
+
+    /**
+     * Frees the pooled reasoner managers and stops following the changes of the original ontology, the manager
+     * is not used afterwards. The reasoner of this manager is not disposed, it belongs to its loader.
+     */
+    void dispose();
+
+    IReasonerLoader getLoader();
+
+    List<String> getStatistics();
 
 }
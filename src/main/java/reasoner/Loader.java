@@ -7,26 +7,31 @@ import models.Individuals;
 import models.Observation;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 import org.semanticweb.owlapi.reasoner.knowledgeexploration.OWLKnowledgeExplorerReasoner;
 import parser.PrefixesParser;
 import uk.ac.manchester.cs.jfact.JFactFactory;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public abstract class Loader implements ILoader {
 
     protected OWLOntologyManager ontologyManager;
     protected OWLReasonerFactory reasonerFactory;
     protected OWLOntology ontology;
-    protected OWLKnowledgeExplorerReasoner reasoner;
+    protected OWLReasoner reasoner;
+    protected OWLKnowledgeExplorerReasoner modelReasoner;
 
     protected Observation observation;
     protected Observation negObservation;
     protected String ontologyIRI;
     protected Individuals namedIndividuals;
     protected OWLOntology originalOntology;
-    protected OWLOntology initialOntology; // initial ontology without negated observation
+    protected Set<OWLAxiom> initialAxioms; // initial ontology without negated observation
     protected Abducibles abducibles;
 
     protected OWLDocumentFormat observationOntologyFormat;
@@ -46,7 +51,7 @@ public abstract class Loader implements ILoader {
                 printer.logInfo(LogMessage.INFO_ONTOLOGY_CONSISTENCY);
             } else {
                 //printer.logError(LogMessage.ERROR_ONTOLOGY_CONSISTENCY, null);
-                reasoner.dispose();
+                disposeReasoners();
                 throw new RuntimeException(LogMessage.ERROR_ONTOLOGY_CONSISTENCY);
             }
 
@@ -58,26 +63,23 @@ public abstract class Loader implements ILoader {
 
     protected abstract void setupOntology() throws OWLOntologyCreationException;
 
+    /**
+     * The original ontology is copied from the loaded one in the same manager, so its axioms are shared, not parsed again.
+     * The initial ontology is only a source of axioms for resets, so an immutable set is enough.
+     */
+    protected void createSnapshots() throws OWLOntologyCreationException {
+        originalOntology = ontologyManager.createOntology(ontology.axioms());
+        initialAxioms = Collections.unmodifiableSet(ontology.axioms().collect(Collectors.toSet()));
+    }
+
     @Override
     public void changeReasoner(ReasonerType reasonerType) {
-        // Note: we only use JFact for now
-
-//        switch (reasonerType) {
-//            case PELLET:
-//                setOWLReasonerFactory(new OpenlletReasonerFactory());
-//                break;
-//
-//            case HERMIT:
-//                setOWLReasonerFactory(new ReasonerFactory());
-//                break;
-//
-//            case JFACT:
-//                setOWLReasonerFactory(new JFactFactory());
-//                break;
-//        }
-
-        setOWLReasonerFactory(new JFactFactory());
-        reasoner = (OWLKnowledgeExplorerReasoner) reasonerFactory.createReasoner(ontology);
+        if (reasoner != null) {
+            disposeReasoners();
+        }
+        setOWLReasonerFactory(reasonerType.createFactory());
+        reasoner = reasonerFactory.createReasoner(ontology);
+        modelReasoner = createModelReasoner(reasoner, ontology);
         printer.logInfo(LogMessage.INFO_ONTOLOGY_LOADED);
     }
 
@@ -86,6 +88,31 @@ public abstract class Loader implements ILoader {
         reasoner.flush();
     }
 
+    @Override
+    public void initializeModelReasoner() {
+        if (modelReasoner != reasoner) {
+            modelReasoner.flush();
+        }
+    }
+
+    /**
+     * Models are read through the knowledge explorer interface. If the consistency reasoner does not provide it,
+     * an auxiliary JFact reasoner over the same ontology is used only for model extraction.
+     */
+    static OWLKnowledgeExplorerReasoner createModelReasoner(OWLReasoner reasoner, OWLOntology ontology) {
+        if (reasoner instanceof OWLKnowledgeExplorerReasoner) {
+            return (OWLKnowledgeExplorerReasoner) reasoner;
+        }
+        return (OWLKnowledgeExplorerReasoner) new JFactFactory().createReasoner(ontology);
+    }
+
+    private void disposeReasoners() {
+        if (modelReasoner != reasoner) {
+            modelReasoner.dispose();
+        }
+        reasoner.dispose();
+    }
+
     protected abstract void loadObservation() throws Exception;
 
     protected abstract void loadAbducibles();
@@ -135,10 +162,15 @@ public abstract class Loader implements ILoader {
     }
 
     @Override
-    public OWLKnowledgeExplorerReasoner getReasoner() {
+    public OWLReasoner getReasoner() {
         return reasoner;
     }
 
+    @Override
+    public OWLKnowledgeExplorerReasoner getModelReasoner() {
+        return modelReasoner;
+    }
+
     @Override
     public void setOWLReasonerFactory(OWLReasonerFactory reasonerFactory) {
         this.reasonerFactory = reasonerFactory;
@@ -173,8 +205,8 @@ public abstract class Loader implements ILoader {
     }
 
     @Override
-    public OWLOntology getInitialOntology() {
-        return initialOntology;
+    public Set<OWLAxiom> getInitialAxioms() {
+        return initialAxioms;
     }
 
 
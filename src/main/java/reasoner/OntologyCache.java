@@ -0,0 +1,121 @@
+package reasoner;
+
+import org.semanticweb.owlapi.model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Binary cache of parsed ontologies in a directory. The cache file of an ontology is named by the hash of its path
+ * and holds the hash of its content, its IRI and its serialized axioms. A source whose content has changed
+ * is parsed again and its cache file is rewritten.
+ * Ontologies with imports are not cached, as the imported ontologies would not be loaded from the cache.
+ */
+public class OntologyCache {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final File directory;
+
+    public OntologyCache(String directory) {
+        this.directory = new File(directory);
+    }
+
+    public OWLOntology load(OWLOntologyManager manager, File source) throws OWLOntologyCreationException {
+        String contentHash = hash(source);
+        File cacheFile = new File(directory, hash(source.getAbsolutePath()) + ".ontology");
+
+        OWLOntology ontology = read(manager, cacheFile, contentHash);
+        if (ontology == null) {
+            ontology = manager.loadOntologyFromOntologyDocument(source);
+            if (ontology.importsDeclarations().count() == 0) {
+                write(ontology, cacheFile, contentHash);
+            }
+        }
+        return ontology;
+    }
+
+    @SuppressWarnings("unchecked")
+    private OWLOntology read(OWLOntologyManager manager, File cacheFile, String contentHash) throws OWLOntologyCreationException {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        List<OWLAxiom> axioms;
+        String ontologyIRI;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != FORMAT_VERSION || !contentHash.equals(in.readUTF())) {
+                return null;
+            }
+            ontologyIRI = (String) in.readObject();
+            axioms = (List<OWLAxiom>) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // an unreadable cache file is replaced as if it was outdated
+            return null;
+        }
+        if (ontologyIRI == null) {
+            return manager.createOntology(axioms);
+        }
+        return manager.createOntology(axioms, IRI.create(ontologyIRI));
+    }
+
+    private void write(OWLOntology ontology, File cacheFile, String contentHash) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new RuntimeException("Could not create the ontology cache directory " + directory);
+        }
+        String ontologyIRI = ontology.getOntologyID().getOntologyIRI().map(IRI::toString).orElse(null);
+        List<OWLAxiom> axioms = ontology.axioms().collect(Collectors.toCollection(ArrayList::new));
+
+        File tempFile = new File(directory, cacheFile.getName() + ".tmp");
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(contentHash);
+            out.writeObject(ontologyIRI);
+            out.writeObject(axioms);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write the ontology cache file " + cacheFile, e);
+        }
+        if (cacheFile.exists() && !cacheFile.delete() || !tempFile.renameTo(cacheFile)) {
+            throw new RuntimeException("Could not write the ontology cache file " + cacheFile);
+        }
+    }
+
+    private static String hash(File file) {
+        MessageDigest digest = createDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+            byte[] buffer = new byte[1 << 16];
+            while (in.read(buffer) != -1) {
+                // the digest is updated while reading
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the ontology file " + file, e);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String hash(String text) {
+        return toHex(createDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+}
@@ -1,55 +1,354 @@
 package reasoner;
 
+import common.Configuration;
 import org.semanticweb.owlapi.model.*;
-import java.util.Collection;
-import java.util.stream.Stream;
+
+import java.util.*;
+import java.util.stream.Collectors;
 
 public class ReasonerManager implements IReasonerManager {
 
-    private final ILoader loader;
+    private final IReasonerLoader loader;
+
+    // working ontology = original ontology + addedAxioms - removedAxioms
+    private final Set<OWLAxiom> addedAxioms = new HashSet<>();
+    private final Set<OWLAxiom> removedAxioms = new HashSet<>();
+
+    // axioms added by each open push(), the most recent frame first
+    private final Deque<List<OWLAxiom>> frames = new ArrayDeque<>();
+
+    // difference between the original and the initial ontology, computed on the first reset to the initial ontology
+    private Set<OWLAxiom> initialAddedAxioms;
+    private Set<OWLAxiom> initialRemovedAxioms;
+
+    private final ConsistencyCache consistencyCache = new ConsistencyCache(Configuration.CONSISTENCY_CACHE_SIZE);
+
+    private ReasonerPool pool;
+    // changes of the original ontology since the pool was created or last updated, the pool replays them
+    private final Set<OWLAxiom> originalAdditions = new LinkedHashSet<>();
+    private final Set<OWLAxiom> originalRemovals = new LinkedHashSet<>();
+
+    // changes of the working ontology are collected and the reasoner is flushed only before it is queried
+    private boolean hasPendingChanges = false;
+    // a separate model reasoner is flushed only before a model is read, it may not have seen the loaded ontology yet
+    private boolean hasPendingModelChanges = true;
+    private long flushRequests = 0;
+    private long flushes = 0;
+
+    private volatile boolean interrupted = false;
+
+    // registered in the ontology manager of the loader, which may belong to the caller (e.g. in the API)
+    private final OWLOntologyChangeListener originalOntologyListener = this::followOriginalOntology;
 
-    public ReasonerManager(ILoader loader) {
+    public ReasonerManager(IReasonerLoader loader) {
         this.loader = loader;
+        loader.getOntologyManager().addOntologyChangeListener(originalOntologyListener);
     }
 
     @Override
     public void addAxiomToOntology(OWLAxiom axiom) {
-        loader.getOntologyManager().addAxiom(loader.getOntology(), axiom);
-        loader.initializeReasoner();
+        if (trackAddition(axiom)) {
+            loader.getOntologyManager().addAxiom(loader.getOntology(), axiom);
+            markChanged();
+        }
     }
 
     @Override
     public void addAxiomsToOntology(Collection<OWLAxiom> axioms) {
-        loader.getOntologyManager().addAxioms(loader.getOntology(), axioms);
-        loader.initializeReasoner();
+        if (!applyAdditions(axioms).isEmpty()) {
+            markChanged();
+        }
     }
 
     @Override
     public void removeAxiomFromOntology(OWLAxiom axiom) {
-        loader.getOntologyManager().removeAxiom(loader.getOntology(), axiom);
-        loader.initializeReasoner();
+        if (trackRemoval(axiom)) {
+            loader.getOntologyManager().removeAxiom(loader.getOntology(), axiom);
+            markChanged();
+        }
+    }
+
+    @Override
+    public void push(Collection<OWLAxiom> axioms) {
+        List<OWLAxiom> added = applyAdditions(axioms);
+        frames.push(added);
+        if (!added.isEmpty()) {
+            markChanged();
+        }
+    }
+
+    @Override
+    public void pop() {
+        if (frames.isEmpty()) {
+            return;
+        }
+        if (!applyRemovals(frames.pop()).isEmpty()) {
+            markChanged();
+        }
+    }
+
+    @Override
+    public void resetOntologyToOriginal() {
+        frames.clear();
+        if (addedAxioms.isEmpty() && removedAxioms.isEmpty()) {
+            return;
+        }
+        undoChanges();
+        markChanged();
     }
 
     @Override
-    public void resetOntology(Stream<OWLAxiom> axioms) {
-        loader.getOntologyManager().removeAxioms(loader.getOntology(), loader.getOntology().axioms());
-        loader.initializeReasoner();
-        loader.getOntologyManager().addAxioms(loader.getOntology(), axioms);
-        loader.initializeReasoner();
+    public void resetOntologyToInitial() {
+        if (initialAddedAxioms == null) {
+            computeInitialDifference();
+        }
+        frames.clear();
+        undoChanges();
+        applyRemovals(initialRemovedAxioms);
+        applyAdditions(initialAddedAxioms);
+        markChanged();
+    }
+
+    @Override
+    public void flushChanges() {
+        flushReasoner();
+        if (hasPendingModelChanges) {
+            loader.initializeModelReasoner();
+            hasPendingModelChanges = false;
+        }
+    }
+
+    private void flushReasoner() {
+        if (interrupted) {
+            replaceReasoner();
+        }
+        if (hasPendingChanges) {
+            loader.initializeReasoner();
+            hasPendingChanges = false;
+            flushes++;
+        }
     }
 
     @Override
     public boolean isOntologyConsistent() {
-        loader.initializeReasoner();
-        return loader.getReasoner().isConsistent();
+        Boolean cached = consistencyCache.get(addedAxioms, removedAxioms);
+        if (cached != null) {
+            return cached;
+        }
+        flushReasoner();
+        boolean isConsistent = loader.getReasoner().isConsistent();
+        consistencyCache.put(addedAxioms, removedAxioms, isConsistent);
+        return isConsistent;
     }
 
     @Override
-    public boolean isOntologyWithLiteralsConsistent(Collection<OWLAxiom> axioms, OWLOntology ontology) {
-        addAxiomsToOntology(axioms);
+    public boolean isOntologyWithLiteralsConsistent(Collection<OWLAxiom> axioms) {
+        push(axioms);
         boolean isConsistent = isOntologyConsistent();
-        resetOntology(ontology.axioms());
+        pop();
         return isConsistent;
     }
 
+    @Override
+    public IReasonerManager lease() {
+        if (Configuration.REASONER_POOL_SIZE <= 1) {
+            return this;
+        }
+        return getPool().lease();
+    }
+
+    @Override
+    public IReasonerManager tryLease() {
+        if (Configuration.REASONER_POOL_SIZE <= 1) {
+            return null;
+        }
+        return getPool().tryLease();
+    }
+
+    @Override
+    public void release(IReasonerManager reasonerManager) {
+        if (reasonerManager != this) {
+            getPool().release(reasonerManager);
+        }
+    }
+
+    private synchronized ReasonerPool getPool() {
+        if (pool == null) {
+            pool = new ReasonerPool(loader, Configuration.REASONER_POOL_SIZE);
+        } else if (!originalAdditions.isEmpty() || !originalRemovals.isEmpty()) {
+            pool.updateOriginalOntology(originalAdditions, originalRemovals);
+        }
+        originalAdditions.clear();
+        originalRemovals.clear();
+        return pool;
+    }
+
+    /**
+     * The original ontology may be changed while no pooled manager is leased, e.g. when the negated observation is added
+     * or between the observations of a batch, and the same change has to be made in the working ontology.
+     * Everything known about the previous original ontology is updated or forgotten.
+     */
+    private void followOriginalOntology(List<? extends OWLOntologyChange> changes) {
+        OWLOntology original = loader.getOriginalOntology();
+        boolean changed = false;
+        for (OWLOntologyChange change : changes) {
+            if (change.getOntology() != original || !change.isAxiomChange()) {
+                continue;
+            }
+            OWLAxiom axiom = change.getAxiom();
+            changed = true;
+            if (change.isAddAxiom()) {
+                addedAxioms.remove(axiom);
+                if (initialAddedAxioms != null && !initialAddedAxioms.remove(axiom) && !loader.getInitialAxioms().contains(axiom)) {
+                    initialRemovedAxioms.add(axiom);
+                }
+                recordOriginalChange(axiom, originalRemovals, originalAdditions);
+            } else if (change.isRemoveAxiom()) {
+                removedAxioms.remove(axiom);
+                if (initialAddedAxioms != null && !initialRemovedAxioms.remove(axiom) && loader.getInitialAxioms().contains(axiom)) {
+                    initialAddedAxioms.add(axiom);
+                }
+                recordOriginalChange(axiom, originalAdditions, originalRemovals);
+            }
+        }
+        if (changed) {
+            consistencyCache.clear();
+            markChanged();
+        }
+    }
+
+    private synchronized void recordOriginalChange(OWLAxiom axiom, Set<OWLAxiom> opposite, Set<OWLAxiom> changes) {
+        if (pool != null && !opposite.remove(axiom)) {
+            changes.add(axiom);
+        }
+    }
+
+    /**
+     * Applies changes of the original ontology of the parent manager to the copies of this pooled manager,
+     * whose working ontology is the original one.
+     */
+    void updateOriginalOntology(Collection<OWLAxiom> additions, Collection<OWLAxiom> removals) {
+        OWLOntologyManager ontologyManager = loader.getOntologyManager();
+        for (OWLOntology target : Arrays.asList(loader.getOriginalOntology(), loader.getOntology())) {
+            ontologyManager.removeAxioms(target, removals);
+            ontologyManager.addAxioms(target, additions);
+        }
+        markChanged();
+    }
+
+    @Override
+    public void interrupt() {
+        interrupted = true;
+        loader.getReasoner().interrupt();
+        if (loader.getModelReasoner() != loader.getReasoner()) {
+            loader.getModelReasoner().interrupt();
+        }
+        ReasonerPool currentPool;
+        synchronized (this) {
+            currentPool = pool;
+        }
+        if (currentPool != null) {
+            currentPool.interrupt();
+        }
+    }
+
+    // a reasoner may not recover from an interrupt, so a new one over the working ontology is created
+    private void replaceReasoner() {
+        interrupted = false;
+        loader.changeReasoner(Configuration.REASONER);
+        hasPendingChanges = true;
+        hasPendingModelChanges = true;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        loader.getOntologyManager().removeOntologyChangeListener(originalOntologyListener);
+        if (pool != null) {
+            pool.dispose();
+            pool = null;
+        }
+    }
+
+    @Override
+    public IReasonerLoader getLoader() {
+        return loader;
+    }
+
+    @Override
+    public List<String> getStatistics() {
+        return Arrays.asList(consistencyCache.toString(),
+                "Reasoner flushes: " + flushes + " performed, " + (flushRequests - flushes) + " avoided");
+    }
+
+    private void markChanged() {
+        hasPendingChanges = true;
+        hasPendingModelChanges = true;
+        flushRequests++;
+    }
+
+    private boolean trackAddition(OWLAxiom axiom) {
+        if (loader.getOntology().containsAxiom(axiom)) {
+            return false;
+        }
+        // an axiom that is in the original ontology itself (e.g. the negated observation added to both) is not a change
+        if (!removedAxioms.remove(axiom) && !loader.getOriginalOntology().containsAxiom(axiom)) {
+            addedAxioms.add(axiom);
+        }
+        return true;
+    }
+
+    private boolean trackRemoval(OWLAxiom axiom) {
+        if (!loader.getOntology().containsAxiom(axiom)) {
+            return false;
+        }
+        if (!addedAxioms.remove(axiom) && loader.getOriginalOntology().containsAxiom(axiom)) {
+            removedAxioms.add(axiom);
+        }
+        return true;
+    }
+
+    private List<OWLAxiom> applyAdditions(Collection<OWLAxiom> axioms) {
+        List<OWLAxiom> toAdd = new ArrayList<>();
+        for (OWLAxiom axiom : axioms) {
+            if (trackAddition(axiom)) {
+                toAdd.add(axiom);
+            }
+        }
+        if (!toAdd.isEmpty()) {
+            loader.getOntologyManager().addAxioms(loader.getOntology(), toAdd);
+        }
+        return toAdd;
+    }
+
+    private List<OWLAxiom> applyRemovals(Collection<OWLAxiom> axioms) {
+        List<OWLAxiom> toRemove = new ArrayList<>();
+        for (OWLAxiom axiom : axioms) {
+            if (trackRemoval(axiom)) {
+                toRemove.add(axiom);
+            }
+        }
+        if (!toRemove.isEmpty()) {
+            loader.getOntologyManager().removeAxioms(loader.getOntology(), toRemove);
+        }
+        return toRemove;
+    }
+
+    private void undoChanges() {
+        if (!addedAxioms.isEmpty()) {
+            loader.getOntologyManager().removeAxioms(loader.getOntology(), addedAxioms);
+            addedAxioms.clear();
+        }
+        if (!removedAxioms.isEmpty()) {
+            loader.getOntologyManager().addAxioms(loader.getOntology(), removedAxioms);
+            removedAxioms.clear();
+        }
+    }
+
+    private void computeInitialDifference() {
+        OWLOntology original = loader.getOriginalOntology();
+        Set<OWLAxiom> initial = loader.getInitialAxioms();
+        initialRemovedAxioms = original.axioms().filter(axiom -> !initial.contains(axiom)).collect(Collectors.toSet());
+        initialAddedAxioms = initial.stream().filter(axiom -> !original.containsAxiom(axiom)).collect(Collectors.toSet());
+    }
+
 }
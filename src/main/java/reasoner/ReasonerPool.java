@@ -0,0 +1,76 @@
+package reasoner;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fixed number of reasoner managers, each with its own reasoner over its own copy of the original ontology.
+ * All workers are created when the pool is created; a lease blocks until some worker is free.
+ */
+public class ReasonerPool {
+
+    private final List<WorkerLoader> loaders = new ArrayList<>();
+    private final List<ReasonerManager> workers = new ArrayList<>();
+    private final BlockingQueue<IReasonerManager> idleWorkers;
+
+    public ReasonerPool(IReasonerLoader loader, int size) {
+        idleWorkers = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            WorkerLoader workerLoader = new WorkerLoader(loader);
+            loaders.add(workerLoader);
+            workers.add(new ReasonerManager(workerLoader));
+        }
+        idleWorkers.addAll(workers);
+    }
+
+    public IReasonerManager lease() {
+        try {
+            return idleWorkers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled reasoner", e);
+        }
+    }
+
+    public IReasonerManager tryLease() {
+        return idleWorkers.poll();
+    }
+
+    public void release(IReasonerManager worker) {
+        worker.resetOntologyToOriginal();
+        idleWorkers.add(worker);
+    }
+
+    /**
+     * Interrupts the reasoner calls running on all workers, leased or idle.
+     */
+    public void interrupt() {
+        workers.forEach(IReasonerManager::interrupt);
+    }
+
+    /**
+     * Applies changes of the original ontology of the parent loader to the copies of all workers, none of which may be leased.
+     */
+    void updateOriginalOntology(Collection<OWLAxiom> additions, Collection<OWLAxiom> removals) {
+        for (ReasonerManager worker : workers) {
+            worker.updateOriginalOntology(additions, removals);
+        }
+    }
+
+    /**
+     * Frees the reasoners and the ontology copies of all workers, the pool cannot be used afterwards.
+     */
+    public void dispose() {
+        workers.forEach(ReasonerManager::dispose);
+        loaders.forEach(WorkerLoader::dispose);
+        loaders.clear();
+        workers.clear();
+        idleWorkers.clear();
+    }
+
+}
@@ -1,7 +1,23 @@
 package reasoner;
 
+import openllet.owlapi.OpenlletReasonerFactory;
+import org.semanticweb.HermiT.ReasonerFactory;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+import uk.ac.manchester.cs.jfact.JFactFactory;
+
 public enum ReasonerType {
     PELLET,
     HERMIT,
-    JFACT
+    JFACT;
+
+    public OWLReasonerFactory createFactory() {
+        switch (this) {
+            case PELLET:
+                return new OpenlletReasonerFactory();
+            case HERMIT:
+                return new ReasonerFactory();
+            default:
+                return new JFactFactory();
+        }
+    }
 }
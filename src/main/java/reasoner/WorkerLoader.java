@@ -0,0 +1,109 @@
+package reasoner;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import common.Configuration;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.knowledgeexploration.OWLKnowledgeExplorerReasoner;
+
+import java.util.Set;
+
+/**
+ * Loader of a pooled reasoner. It owns a copy of the original ontology of the parent loader in its own manager,
+ * so it can be changed and reasoned over independently of the other workers.
+ */
+public class WorkerLoader implements IReasonerLoader {
+
+    private final OWLOntologyManager ontologyManager;
+    private final OWLOntology ontology;
+    private final OWLOntology originalOntology;
+    private final Set<OWLAxiom> initialAxioms;
+    private OWLReasoner reasoner;
+    private OWLKnowledgeExplorerReasoner modelReasoner;
+
+    public WorkerLoader(IReasonerLoader parent) {
+        this.ontologyManager = OWLManager.createOWLOntologyManager();
+        try {
+            this.ontology = ontologyManager.createOntology(parent.getOriginalOntology().axioms());
+            this.originalOntology = ontologyManager.createOntology(parent.getOriginalOntology().axioms());
+        } catch (OWLOntologyCreationException e) {
+            throw new RuntimeException("Could not copy the ontology for a pooled reasoner", e);
+        }
+        this.initialAxioms = parent.getInitialAxioms();
+        createReasoners(Configuration.REASONER);
+    }
+
+    @Override
+    public void changeReasoner(ReasonerType reasonerType) {
+        disposeReasoners();
+        createReasoners(reasonerType);
+    }
+
+    @Override
+    public void initializeReasoner() {
+        reasoner.flush();
+    }
+
+    @Override
+    public void initializeModelReasoner() {
+        if (modelReasoner != reasoner) {
+            modelReasoner.flush();
+        }
+    }
+
+    /**
+     * Frees the reasoners and the copies of the ontology, the loader cannot be used afterwards.
+     */
+    public void dispose() {
+        disposeReasoners();
+        ontologyManager.removeOntology(ontology);
+        ontologyManager.removeOntology(originalOntology);
+    }
+
+    private void createReasoners(ReasonerType reasonerType) {
+        reasoner = reasonerType.createFactory().createReasoner(ontology);
+        modelReasoner = Loader.createModelReasoner(reasoner, ontology);
+    }
+
+    private void disposeReasoners() {
+        if (modelReasoner != reasoner) {
+            modelReasoner.dispose();
+        }
+        reasoner.dispose();
+    }
+
+    @Override
+    public OWLOntologyManager getOntologyManager() {
+        return ontologyManager;
+    }
+
+    @Override
+    public OWLOntology getOntology() {
+        return ontology;
+    }
+
+    @Override
+    public OWLReasoner getReasoner() {
+        return reasoner;
+    }
+
+    @Override
+    public OWLKnowledgeExplorerReasoner getModelReasoner() {
+        return modelReasoner;
+    }
+
+    @Override
+    public OWLDataFactory getDataFactory() {
+        return ontologyManager.getOWLDataFactory();
+    }
+
+    @Override
+    public OWLOntology getOriginalOntology() {
+        return originalOntology;
+    }
+
+    @Override
+    public Set<OWLAxiom> getInitialAxioms() {
+        return initialAxioms;
+    }
+}
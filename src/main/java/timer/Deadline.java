@@ -0,0 +1,50 @@
+package timer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Limit of the total user time of a run. It is checked by the polling thread of {@link ThreadTimes},
+ * so asking whether it expired is only a read of a flag. Actions registered by {@link #onExpiry(Runnable)}
+ * are run by the polling thread when it expires, e.g. to interrupt running reasoner calls.
+ */
+public class Deadline {
+
+    private final long limit;
+    private final List<Runnable> expiryActions = new CopyOnWriteArrayList<>();
+    private volatile boolean expired = false;
+
+    Deadline(long limitInNanos) {
+        this.limit = limitInNanos;
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+
+    public void onExpiry(Runnable action) {
+        expiryActions.add(action);
+        if (expired && expiryActions.remove(action)) {
+            action.run();
+        }
+    }
+
+    /**
+     * The action is not run if the deadline expires later.
+     */
+    public void cancelExpiryAction(Runnable action) {
+        expiryActions.remove(action);
+    }
+
+    void check(long totalUserTime) {
+        if (expired || totalUserTime <= limit) {
+            return;
+        }
+        expired = true;
+        for (Runnable action : expiryActions) {
+            if (expiryActions.remove(action)) {
+                action.run();
+            }
+        }
+    }
+}
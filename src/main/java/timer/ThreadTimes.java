@@ -2,7 +2,6 @@ package timer;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
-import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -12,6 +11,10 @@ public class ThreadTimes extends Thread {
     private final long interval;
     private final long threadId;
     private final Map<Long, Times> history = new ConcurrentHashMap<>(8, 0.9f, 1);
+    // totals over the history, computed by the polling thread
+    private volatile long totalCpuTime = 0L;
+    private volatile long totalUserTime = 0L;
+    private volatile Deadline deadline;
 
     /**
      * Create a polling thread to track times.
@@ -71,20 +74,36 @@ public class ThreadTimes extends Thread {
                 times.endUserTime = userTime;
             }
         }
+
+        long cpuTime = 0L;
+        long userTime = 0L;
+        for (Times times : history.values()) {
+            cpuTime += (times.endCpuTime - times.startCpuTime);
+            userTime += (times.endUserTime - times.startUserTime);
+        }
+        totalCpuTime = cpuTime;
+        totalUserTime = userTime;
+
+        Deadline current = deadline;
+        if (current != null) {
+            current.check(userTime);
+        }
+    }
+
+    /**
+     * Starts tracking a limit of the total user time, it replaces the previous one.
+     */
+    public Deadline setDeadline(double limitInSec) {
+        Deadline newDeadline = new Deadline((long) (limitInSec * BILLION));
+        deadline = newDeadline;
+        return newDeadline;
     }
 
     /**
      * Get total CPU time so far in nanoseconds.
      */
     public long getTotalCpuTime() {
-        final Collection<Times> hist = history.values();
-        long time = 0L;
-
-        for (Times times : hist) {
-            time += (times.endCpuTime - times.startCpuTime);
-        }
-
-        return time;
+        return totalCpuTime;
     }
 
     public double getTotalCpuTimeInSec() {
@@ -95,14 +114,7 @@ public class ThreadTimes extends Thread {
      * Get total user time so far in nanoseconds.
      */
     public long getTotalUserTime() {
-        final Collection<Times> hist = history.values();
-        long time = 0L;
-
-        for (Times times : hist) {
-            time += (times.endUserTime - times.startUserTime);
-        }
-
-        return time;
+        return totalUserTime;
     }
 
     public double getTotalUserTimeInSec() {
@@ -0,0 +1,94 @@
+package algorithms.hybrid;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+import static common.TestAxioms.classAssertion;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AxiomChainTest {
+
+    @Test
+    void emptyChainHasNoAxioms() {
+        assertEquals(0, AxiomChain.EMPTY.size());
+        assertFalse(AxiomChain.EMPTY.iterator().hasNext());
+        assertFalse(AxiomChain.EMPTY.contains(classAssertion("A", "a")));
+    }
+
+    @Test
+    void iteratesInOrderOfAppending() {
+        OWLAxiom a = classAssertion("A", "a");
+        OWLAxiom b = classAssertion("B", "a");
+        OWLAxiom c = classAssertion("C", "b");
+        OWLAxiom d = classAssertion("D", "b");
+
+        AxiomChain chain = AxiomChain.EMPTY.append(a).appendAll(Arrays.asList(b, c)).append(d);
+
+        assertEquals(4, chain.size());
+        assertIterableEquals(Arrays.asList(a, b, c, d), new ArrayList<>(chain));
+    }
+
+    @Test
+    void skipsAxiomsAlreadyInChain() {
+        OWLAxiom a = classAssertion("A", "a");
+        OWLAxiom b = classAssertion("B", "a");
+
+        AxiomChain chain = AxiomChain.EMPTY.append(a);
+
+        assertSame(chain, chain.append(a));
+        assertSame(chain, chain.appendAll(Collections.singletonList(a)));
+        AxiomChain extended = chain.appendAll(Arrays.asList(b, a, b));
+        assertEquals(2, extended.size());
+        assertIterableEquals(Arrays.asList(a, b), new ArrayList<>(extended));
+    }
+
+    @Test
+    void siblingsDoNotSeeEachOther() {
+        OWLAxiom a = classAssertion("A", "a");
+        OWLAxiom b = classAssertion("B", "a");
+        OWLAxiom c = classAssertion("C", "a");
+
+        AxiomChain parent = AxiomChain.EMPTY.append(a);
+        AxiomChain left = parent.append(b);
+        AxiomChain right = parent.append(c);
+
+        assertTrue(left.contains(a));
+        assertTrue(left.contains(b));
+        assertFalse(left.contains(c));
+        assertFalse(right.contains(b));
+        assertEquals(1, parent.size());
+        assertIterableEquals(Arrays.asList(a, c), new ArrayList<>(right));
+    }
+
+    @Test
+    void longChainsAgreeWithTheirAxioms() {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        AxiomChain chain = AxiomChain.EMPTY;
+        for (int i = 0; i < 50; i++) {
+            OWLAxiom axiom = classAssertion("A" + i, "a");
+            axioms.add(axiom);
+            chain = chain.append(axiom);
+            // every chain is looked up, so the set of a long chain is built from the set of its parent
+            assertTrue(chain.contains(axiom));
+            assertTrue(chain.contains(axioms.get(0)));
+            assertFalse(chain.contains(classAssertion("A" + (i + 1), "a")));
+        }
+
+        assertEquals(50, chain.size());
+        assertIterableEquals(axioms, new ArrayList<>(chain));
+        assertSame(chain, chain.appendAll(axioms));
+    }
+
+    @Test
+    void iteratorEndsAfterLastAxiom() {
+        AxiomChain chain = AxiomChain.EMPTY.append(classAssertion("A", "a"));
+        Iterator<OWLAxiom> iterator = chain.iterator();
+
+        iterator.next();
+
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
@@ -0,0 +1,51 @@
+package algorithms.hybrid;
+
+import common.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+
+import static algorithms.hybrid.SolverFixture.*;
+import static common.TestAxioms.classAssertion;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+
+    @TempDir
+    File directory;
+
+    private String checkpointFile;
+    private String resumeFile;
+
+    @BeforeEach
+    void saveConfiguration() {
+        checkpointFile = Configuration.CHECKPOINT_FILE;
+        resumeFile = Configuration.RESUME_FILE;
+    }
+
+    @AfterEach
+    void restoreConfiguration() {
+        Configuration.CHECKPOINT_FILE = checkpointFile;
+        Configuration.RESUME_FILE = resumeFile;
+    }
+
+    @Test
+    void resumedRunFindsSameExplanationsAsFreshRun() throws Exception {
+        File checkpoint = new File(directory, "search.checkpoint");
+        Configuration.CHECKPOINT_FILE = checkpoint.getPath();
+        Set<Set<OWLAxiom>> fresh = explanations(solve(KNOWLEDGE_BASE, OBSERVATION, solver -> {}));
+
+        assertTrue(checkpoint.isFile());
+        assertTrue(fresh.contains(Collections.singleton(classAssertion("A", "a"))));
+
+        Configuration.CHECKPOINT_FILE = null;
+        Configuration.RESUME_FILE = checkpoint.getPath();
+        assertEquals(fresh, explanations(solve(KNOWLEDGE_BASE, OBSERVATION, solver -> {})));
+    }
+}
@@ -0,0 +1,58 @@
+package algorithms.hybrid;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+import static algorithms.hybrid.SolverFixture.*;
+import static common.TestAxioms.classAssertion;
+import static common.TestAxioms.subClassOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * An incremental run has to find the same explanations as a fresh run on its input, whatever it reused.
+ */
+class IncrementalStateTest {
+
+    private static final List<OWLAxiom> EXTENDED_KNOWLEDGE_BASE = extend(KNOWLEDGE_BASE, subClassOf("G", "D"));
+
+    private static List<OWLAxiom> extend(List<OWLAxiom> knowledgeBase, OWLAxiom axiom) {
+        List<OWLAxiom> result = new ArrayList<>(knowledgeBase);
+        result.add(axiom);
+        return result;
+    }
+
+    private static Set<Set<OWLAxiom>> solveAfter(List<OWLAxiom> previousKnowledgeBase, List<OWLAxiom> knowledgeBase) throws Exception {
+        HybridSolver previous = solve(previousKnowledgeBase, OBSERVATION, solver -> solver.setIncremental(null));
+        return explanations(solve(knowledgeBase, OBSERVATION, solver -> solver.setIncremental(previous.getIncrementalState())));
+    }
+
+    private static Set<Set<OWLAxiom>> solveFresh(List<OWLAxiom> knowledgeBase) throws Exception {
+        return explanations(solve(knowledgeBase, OBSERVATION, solver -> {}));
+    }
+
+    @Test
+    void rerunOfSameInput() throws Exception {
+        Set<Set<OWLAxiom>> fresh = solveFresh(KNOWLEDGE_BASE);
+
+        assertTrue(fresh.contains(Collections.singleton(classAssertion("A", "a"))));
+        assertEquals(fresh, solveAfter(KNOWLEDGE_BASE, KNOWLEDGE_BASE));
+    }
+
+    @Test
+    void runAfterAxiomWasAdded() throws Exception {
+        Set<Set<OWLAxiom>> fresh = solveFresh(EXTENDED_KNOWLEDGE_BASE);
+
+        assertTrue(fresh.contains(Collections.singleton(classAssertion("G", "a"))));
+        assertEquals(fresh, solveAfter(KNOWLEDGE_BASE, EXTENDED_KNOWLEDGE_BASE));
+    }
+
+    @Test
+    void runAfterAxiomWasRemoved() throws Exception {
+        Set<Set<OWLAxiom>> fresh = solveFresh(KNOWLEDGE_BASE);
+
+        assertFalse(fresh.contains(Collections.singleton(classAssertion("G", "a"))));
+        assertEquals(fresh, solveAfter(EXTENDED_KNOWLEDGE_BASE, KNOWLEDGE_BASE));
+    }
+}
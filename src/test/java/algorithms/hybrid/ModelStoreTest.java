@@ -0,0 +1,88 @@
+package algorithms.hybrid;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+import static common.TestAxioms.classAssertion;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelStoreTest {
+
+    private final OWLAxiom a = classAssertion("A", "a");
+    private final OWLAxiom b = classAssertion("B", "a");
+    private final OWLAxiom c = classAssertion("C", "b");
+    private final OWLAxiom d = classAssertion("D", "b");
+
+    private List<ModelNode> models;
+    private List<ModelNode> negModels;
+    private ModelStore store;
+
+    private static ModelNode model(OWLAxiom... axioms) {
+        ModelNode model = new ModelNode();
+        model.data = new HashSet<>(Arrays.asList(axioms));
+        return model;
+    }
+
+    @BeforeEach
+    void createStore() {
+        models = new ArrayList<>();
+        negModels = new ArrayList<>();
+        store = new ModelStore(new AxiomDictionary(), models, negModels);
+    }
+
+    @Test
+    void addsModelsInOrder() {
+        assertEquals(0, store.add(model(a, b), model(c)));
+        assertEquals(1, store.add(model(c), model(a)));
+
+        assertEquals(2, models.size());
+        assertEquals(2, negModels.size());
+        assertEquals(model(c), models.get(1));
+        assertEquals(model(a), negModels.get(1));
+    }
+
+    @Test
+    void storesEqualModelsOnce() {
+        store.add(model(a, b), model(c));
+
+        assertEquals(0, store.add(model(b, a), model(d)));
+        assertEquals(1, models.size());
+        assertEquals(0, store.indexOf(model(b, a)));
+        assertEquals(-1, store.indexOf(model(a)));
+    }
+
+    @Test
+    void findsLastModelCoveringPath() {
+        store.add(model(a, b, c), model(d));
+        store.add(model(a, d), model(b));
+        store.add(model(a, c), model(b, d));
+
+        assertEquals(2, store.findCovering(Arrays.asList(a, c)));
+        assertEquals(1, store.findCovering(Collections.singletonList(d)));
+        assertEquals(0, store.findCovering(Arrays.asList(b, c)));
+        assertEquals(2, store.findCovering(Collections.singletonList(a)));
+    }
+
+    @Test
+    void emptyPathIsCoveredByLastModel() {
+        assertEquals(-1, store.findCovering(Collections.emptyList()));
+
+        store.add(model(a), model(b));
+        store.add(model(c), model(d));
+
+        assertEquals(1, store.findCovering(Collections.emptyList()));
+    }
+
+    @Test
+    void pathNotCoveredByAnyModel() {
+        store.add(model(a, b), model(c));
+        store.add(model(c), model(a));
+
+        assertEquals(-1, store.findCovering(Arrays.asList(a, c)));
+        assertEquals(-1, store.findCovering(Collections.singletonList(d)));
+        assertEquals(-1, store.findCovering(Collections.singletonList(classAssertion("E", "c"))));
+    }
+}
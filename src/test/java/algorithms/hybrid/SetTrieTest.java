@@ -0,0 +1,79 @@
+package algorithms.hybrid;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SetTrieTest {
+
+    @Test
+    void emptyTrieContainsNothing() {
+        SetTrie trie = new SetTrie();
+
+        assertEquals(0, trie.size());
+        assertFalse(trie.containsSubsetOf(new int[]{1, 2}));
+        assertFalse(trie.containsSupersetOf(new int[]{1}));
+    }
+
+    @Test
+    void findsStoredSubsets() {
+        SetTrie trie = new SetTrie();
+        trie.add(new int[]{2, 5});
+        trie.add(new int[]{3});
+
+        assertTrue(trie.containsSubsetOf(new int[]{1, 2, 4, 5}));
+        assertTrue(trie.containsSubsetOf(new int[]{3}));
+        assertTrue(trie.containsSubsetOf(new int[]{2, 5}));
+        assertFalse(trie.containsSubsetOf(new int[]{2, 4}));
+        assertFalse(trie.containsSubsetOf(new int[]{5}));
+    }
+
+    @Test
+    void findsStoredSupersets() {
+        SetTrie trie = new SetTrie();
+        trie.add(new int[]{1, 3, 5, 7});
+
+        assertTrue(trie.containsSupersetOf(new int[]{3, 7}));
+        assertTrue(trie.containsSupersetOf(new int[]{1, 3, 5, 7}));
+        assertTrue(trie.containsSupersetOf(new int[]{}));
+        assertFalse(trie.containsSupersetOf(new int[]{2}));
+        assertFalse(trie.containsSupersetOf(new int[]{5, 8}));
+    }
+
+    @Test
+    void emptySetIsSubsetOfEverySet() {
+        SetTrie trie = new SetTrie();
+        trie.add(new int[]{});
+
+        assertTrue(trie.containsSubsetOf(new int[]{4}));
+        assertTrue(trie.containsSupersetOf(new int[]{}));
+        assertFalse(trie.containsSupersetOf(new int[]{4}));
+    }
+
+    @Test
+    void countsEqualSetsOnce() {
+        SetTrie trie = new SetTrie();
+        trie.add(new int[]{1, 2});
+        trie.add(new int[]{1, 2});
+        trie.add(new int[]{1});
+
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void copyIsIndependentOfOriginal() {
+        SetTrie trie = new SetTrie();
+        trie.add(new int[]{1, 2});
+        SetTrie copy = new SetTrie(trie);
+
+        copy.add(new int[]{3});
+        trie.add(new int[]{4});
+
+        assertEquals(2, copy.size());
+        assertTrue(copy.containsSubsetOf(new int[]{1, 2}));
+        assertTrue(copy.containsSubsetOf(new int[]{3}));
+        assertFalse(copy.containsSubsetOf(new int[]{4}));
+        assertFalse(trie.containsSubsetOf(new int[]{3}));
+        assertTrue(trie.containsSubsetOf(new int[]{4}));
+    }
+}
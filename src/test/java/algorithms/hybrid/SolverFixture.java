@@ -0,0 +1,67 @@
+package algorithms.hybrid;
+
+import api_implementation.*;
+import common.Configuration;
+import models.Explanation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import reasoner.ReasonerManager;
+import timer.ThreadTimes;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static common.TestAxioms.*;
+
+/**
+ * Solves an observation over a knowledge base through the loader of the API, the way the API manager does,
+ * but with access to the solver.
+ */
+final class SolverFixture {
+
+    // explanations {A(a)} and {B(a)} are found at the first level, {C(a), E(a)} at the second one
+    static final List<OWLAxiom> KNOWLEDGE_BASE = Collections.unmodifiableList(Arrays.asList(
+            subClassOf("A", "D"),
+            subClassOf("B", "D"),
+            DATA_FACTORY.getOWLSubClassOfAxiom(DATA_FACTORY.getOWLObjectIntersectionOf(owlClass("C"), owlClass("E")), owlClass("D"))));
+    static final OWLAxiom OBSERVATION = classAssertion("D", "a");
+
+    private SolverFixture() {
+    }
+
+    /**
+     * @param setup called with the solver before it starts solving
+     * @return the solver after it solved the observation
+     */
+    static HybridSolver solve(Collection<OWLAxiom> knowledgeBase, OWLAxiom observation, Consumer<HybridSolver> setup) throws Exception {
+        MhsMxpAbductionManager abductionManager = new MhsMxpAbductionManager();
+        abductionManager.setBackgroundKnowledge(ontology(knowledgeBase));
+        abductionManager.setObservation(observation);
+        ApiLoader loader = new ApiLoader(abductionManager);
+        loader.initialize(Configuration.REASONER);
+        ReasonerManager reasonerManager = new ReasonerManager(loader);
+
+        ThreadTimes threadTimes = new ThreadTimes(100);
+        threadTimes.start();
+        try {
+            HybridSolver solver = new HybridSolver(threadTimes, new ApiExplanationManager(loader, reasonerManager, abductionManager),
+                    new ApiProgressManager(abductionManager), new ApiPrinter(abductionManager));
+            setup.accept(solver);
+            solver.solve(loader, reasonerManager);
+            return solver;
+        } finally {
+            reasonerManager.dispose();
+            threadTimes.interrupt();
+        }
+    }
+
+    /**
+     * @return final explanations of the solver, each as a set of axioms
+     */
+    static Set<Set<OWLAxiom>> explanations(HybridSolver solver) {
+        Set<Set<OWLAxiom>> result = new HashSet<>();
+        for (Explanation explanation : ((ExplanationManager) solver.getExplanationManager()).finalExplanations) {
+            result.add(new HashSet<>(explanation.getOwlAxioms()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package algorithms.hybrid;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+import static common.TestAxioms.classAssertion;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillingNodeQueueTest {
+
+    private static final int NODES = 7;
+
+    private final List<ModelNode> negModels = new ArrayList<>();
+    private final List<ModelNode> nodes = new ArrayList<>();
+    private SpillingNodeQueue queue;
+
+    // the i-th node has the i-th negated model as data, a label of i axioms and a length one explanation
+    @BeforeEach
+    void createNodes() {
+        for (int i = 0; i < NODES; i++) {
+            ModelNode negModel = new ModelNode();
+            negModel.data = new HashSet<>(Arrays.asList(classAssertion("A" + i, "a"), classAssertion("B" + i, "b")));
+            negModels.add(negModel);
+
+            ModelNode node = new ModelNode();
+            node.depth = i;
+            node.modelIndex = i;
+            node.data = negModel.data;
+            AxiomChain label = AxiomChain.EMPTY;
+            for (int j = 0; j < i; j++) {
+                label = label.append(classAssertion("C" + j, "c"));
+            }
+            node.label = label;
+            node.addLengthOneExplanations(Collections.singletonList(classAssertion("D" + i, "d")));
+            nodes.add(node);
+        }
+        queue = new SpillingNodeQueue(new AxiomDictionary(), negModels, 2);
+    }
+
+    @AfterEach
+    void closeQueue() {
+        queue.close();
+    }
+
+    private static void assertSameNode(ModelNode expected, TreeNode actual) {
+        ModelNode node = (ModelNode) actual;
+        assertEquals(expected.depth, node.depth);
+        assertEquals(expected.modelIndex, node.modelIndex);
+        assertSame(expected.data, node.data);
+        assertIterableEquals(new ArrayList<>(expected.label), new ArrayList<>(node.label));
+        assertEquals(expected.getLengthOneExplanations(), node.getLengthOneExplanations());
+    }
+
+    @Test
+    void spillsNodesOverMemoryLimit() {
+        nodes.forEach(queue::offer);
+
+        assertEquals(NODES, queue.size());
+        assertEquals(2, queue.getNodesInMemory().size());
+        assertEquals(NODES - 2, queue.getSpilledTotal());
+    }
+
+    @Test
+    void pollsSpilledNodesInOrder() {
+        nodes.forEach(queue::offer);
+
+        for (ModelNode node : nodes) {
+            assertSameNode(node, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void keepsOrderWhenOfferingWhileSpilled() {
+        for (int i = 0; i < 4; i++) {
+            queue.offer(nodes.get(i));
+        }
+        assertSameNode(nodes.get(0), queue.poll());
+        assertSameNode(nodes.get(1), queue.poll());
+        for (int i = 4; i < NODES; i++) {
+            queue.offer(nodes.get(i));
+        }
+
+        for (int i = 2; i < NODES; i++) {
+            assertSameNode(nodes.get(i), queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void peekReadsSpilledNode() {
+        nodes.forEach(queue::offer);
+        queue.poll();
+        queue.poll();
+
+        assertSameNode(nodes.get(2), queue.peek());
+        assertEquals(NODES - 2, queue.size());
+        assertSameNode(nodes.get(2), queue.poll());
+    }
+
+    @Test
+    void iteratesOverMemoryAndSpilledNodes() {
+        nodes.forEach(queue::offer);
+        queue.poll();
+
+        Iterator<TreeNode> iterator = queue.iterator();
+        for (int i = 1; i < NODES; i++) {
+            assertTrue(iterator.hasNext());
+            assertSameNode(nodes.get(i), iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+        assertEquals(NODES - 1, queue.size());
+    }
+}
@@ -0,0 +1,49 @@
+package common;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.Collection;
+
+/**
+ * Axioms and ontologies over named classes and individuals of one namespace, shared by the tests.
+ */
+public final class TestAxioms {
+
+    public static final String PREFIX = "http://www.co-ode.org/ontologies/ont.owl#";
+    public static final OWLDataFactory DATA_FACTORY = OWLManager.getOWLDataFactory();
+
+    private TestAxioms() {
+    }
+
+    public static OWLClass owlClass(String name) {
+        return DATA_FACTORY.getOWLClass(IRI.create(PREFIX + name));
+    }
+
+    public static OWLNamedIndividual individual(String name) {
+        return DATA_FACTORY.getOWLNamedIndividual(IRI.create(PREFIX + name));
+    }
+
+    public static OWLAxiom classAssertion(String className, String individualName) {
+        return DATA_FACTORY.getOWLClassAssertionAxiom(owlClass(className), individual(individualName));
+    }
+
+    public static OWLAxiom subClassOf(String subClass, String superClass) {
+        return DATA_FACTORY.getOWLSubClassOfAxiom(owlClass(subClass), owlClass(superClass));
+    }
+
+    public static OWLAxiom disjointClasses(String first, String second) {
+        return DATA_FACTORY.getOWLDisjointClassesAxiom(owlClass(first), owlClass(second));
+    }
+
+    /**
+     * @return new ontology with the axioms, in a manager of its own
+     */
+    public static OWLOntology ontology(Collection<OWLAxiom> axioms) {
+        try {
+            return OWLManager.createOWLOntologyManager().createOntology(axioms);
+        } catch (OWLOntologyCreationException e) {
+            throw new RuntimeException("Could not create the test ontology", e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package reasoner;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.*;
+
+import static common.TestAxioms.classAssertion;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistencyCacheTest {
+
+    private static Set<OWLAxiom> setOf(OWLAxiom... axioms) {
+        return new LinkedHashSet<>(Arrays.asList(axioms));
+    }
+
+    @Test
+    void verdictDoesNotDependOnOrderOfAxioms() {
+        OWLAxiom a = classAssertion("A", "a");
+        OWLAxiom b = classAssertion("B", "a");
+        ConsistencyCache cache = new ConsistencyCache(10);
+
+        cache.put(setOf(a, b), Collections.emptySet(), false);
+
+        assertEquals(Boolean.FALSE, cache.get(setOf(b, a), Collections.emptySet()));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void addedAndRemovedAxiomsAreDistinguished() {
+        OWLAxiom a = classAssertion("A", "a");
+        ConsistencyCache cache = new ConsistencyCache(10);
+
+        cache.put(setOf(a), Collections.emptySet(), true);
+
+        assertNull(cache.get(Collections.emptySet(), setOf(a)));
+        assertEquals(Boolean.TRUE, cache.get(setOf(a), Collections.emptySet()));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void laterChangesOfStoredSetsDoNotAffectVerdict() {
+        OWLAxiom a = classAssertion("A", "a");
+        OWLAxiom b = classAssertion("B", "a");
+        ConsistencyCache cache = new ConsistencyCache(10);
+        Set<OWLAxiom> added = setOf(a);
+
+        cache.put(added, Collections.emptySet(), true);
+        added.add(b);
+
+        assertEquals(Boolean.TRUE, cache.get(setOf(a), Collections.emptySet()));
+        assertNull(cache.get(setOf(a, b), Collections.emptySet()));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedVerdict() {
+        OWLAxiom a = classAssertion("A", "a");
+        OWLAxiom b = classAssertion("B", "a");
+        OWLAxiom c = classAssertion("C", "a");
+        ConsistencyCache cache = new ConsistencyCache(2);
+
+        cache.put(setOf(a), Collections.emptySet(), true);
+        cache.put(setOf(b), Collections.emptySet(), true);
+        cache.get(setOf(a), Collections.emptySet());
+        cache.put(setOf(c), Collections.emptySet(), false);
+
+        assertEquals(Boolean.TRUE, cache.get(setOf(a), Collections.emptySet()));
+        assertNull(cache.get(setOf(b), Collections.emptySet()));
+        assertEquals(Boolean.FALSE, cache.get(setOf(c), Collections.emptySet()));
+    }
+
+    @Test
+    void zeroCapacityDisablesCache() {
+        OWLAxiom a = classAssertion("A", "a");
+        ConsistencyCache cache = new ConsistencyCache(0);
+
+        cache.put(setOf(a), Collections.emptySet(), true);
+
+        assertNull(cache.get(setOf(a), Collections.emptySet()));
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void clearForgetsAllVerdicts() {
+        OWLAxiom a = classAssertion("A", "a");
+        ConsistencyCache cache = new ConsistencyCache(10);
+
+        cache.put(setOf(a), Collections.emptySet(), true);
+        cache.clear();
+
+        assertNull(cache.get(setOf(a), Collections.emptySet()));
+    }
+}
@@ -0,0 +1,277 @@
+package reasoner;
+
+import common.IPrinter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import uk.ac.manchester.cs.jfact.JFactFactory;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static common.TestAxioms.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each test changes the working ontology through the manager and the same way in a plain set of axioms, the way
+ * the ontology was changed before the changes were tracked. The working ontology has to contain the same axioms,
+ * and the manager has to give the same consistency verdict as a new reasoner over them.
+ */
+class ReasonerManagerTest {
+
+    private static final List<OWLAxiom> KNOWLEDGE_BASE = Arrays.asList(
+            subClassOf("A", "B"), disjointClasses("B", "C"), classAssertion("A", "a"));
+
+    private final OWLAxiom aIsC = classAssertion("C", "a");
+    private final OWLAxiom bIsC = classAssertion("C", "b");
+    private final OWLAxiom bIsD = classAssertion("D", "b");
+
+    private OntologyLoader loader;
+    private ReasonerManager reasonerManager;
+    private Set<OWLAxiom> expected;
+
+    @BeforeEach
+    void load() throws Exception {
+        loader = new OntologyLoader(KNOWLEDGE_BASE);
+        loader.initialize(ReasonerType.JFACT);
+        reasonerManager = new ReasonerManager(loader);
+        expected = new HashSet<>(KNOWLEDGE_BASE);
+    }
+
+    private void assertMatchesExpected() {
+        assertEquals(expected, loader.getOntology().axioms().collect(Collectors.toSet()));
+        assertEquals(isConsistent(expected), reasonerManager.isOntologyConsistent());
+    }
+
+    private static boolean isConsistent(Set<OWLAxiom> axioms) {
+        OWLReasoner reasoner = new JFactFactory().createReasoner(ontology(axioms));
+        try {
+            return reasoner.isConsistent();
+        } finally {
+            reasoner.dispose();
+        }
+    }
+
+    // the negated observation is added to the original ontology and then to the working one
+    private void addToOriginalOntology(OWLAxiom axiom) {
+        loader.getOntologyManager().addAxiom(loader.getOriginalOntology(), axiom);
+        reasonerManager.addAxiomToOntology(axiom);
+        expected.add(axiom);
+    }
+
+    @Test
+    void addedAndRemovedAxiomsChangeWorkingOntology() {
+        reasonerManager.addAxiomToOntology(bIsC);
+        expected.add(bIsC);
+        assertMatchesExpected();
+
+        reasonerManager.removeAxiomFromOntology(classAssertion("A", "a"));
+        expected.remove(classAssertion("A", "a"));
+        assertMatchesExpected();
+
+        reasonerManager.addAxiomsToOntology(Arrays.asList(aIsC, bIsD));
+        expected.addAll(Arrays.asList(aIsC, bIsD));
+        assertMatchesExpected();
+
+        reasonerManager.addAxiomToOntology(classAssertion("A", "a"));
+        expected.add(classAssertion("A", "a"));
+        assertMatchesExpected();
+    }
+
+    @Test
+    void resetToOriginalUndoesAllChanges() {
+        reasonerManager.addAxiomToOntology(aIsC);
+        reasonerManager.removeAxiomFromOntology(subClassOf("A", "B"));
+        reasonerManager.addAxiomToOntology(bIsD);
+        reasonerManager.removeAxiomFromOntology(bIsD);
+        expected.add(aIsC);
+        expected.remove(subClassOf("A", "B"));
+        assertMatchesExpected();
+
+        reasonerManager.resetOntologyToOriginal();
+        expected = new HashSet<>(KNOWLEDGE_BASE);
+        assertMatchesExpected();
+    }
+
+    @Test
+    void resetToOriginalKeepsAxiomsAddedToOriginalOntology() {
+        addToOriginalOntology(aIsC);
+        reasonerManager.addAxiomToOntology(bIsC);
+        expected.add(bIsC);
+        assertMatchesExpected();
+
+        reasonerManager.resetOntologyToOriginal();
+        expected.remove(bIsC);
+        assertMatchesExpected();
+    }
+
+    @Test
+    void resetToInitialLeavesOutAxiomsAddedToOriginalOntology() {
+        addToOriginalOntology(aIsC);
+        reasonerManager.addAxiomToOntology(bIsC);
+
+        reasonerManager.resetOntologyToInitial();
+        expected = new HashSet<>(KNOWLEDGE_BASE);
+        assertMatchesExpected();
+
+        reasonerManager.resetOntologyToOriginal();
+        expected.add(aIsC);
+        assertMatchesExpected();
+    }
+
+    @Test
+    void popUndoesOnlyItsOwnFrame() {
+        reasonerManager.push(Collections.singletonList(bIsC));
+        expected.add(bIsC);
+        assertMatchesExpected();
+
+        // the axiom of the outer frame is not added again, so it is not removed by the inner pop
+        reasonerManager.push(Arrays.asList(bIsC, aIsC));
+        expected.add(aIsC);
+        assertMatchesExpected();
+
+        reasonerManager.pop();
+        expected.remove(aIsC);
+        assertMatchesExpected();
+
+        reasonerManager.pop();
+        expected.remove(bIsC);
+        assertMatchesExpected();
+    }
+
+    @Test
+    void popKeepsAxiomsAddedOutsideFrames() {
+        reasonerManager.push(Arrays.asList(bIsC, classAssertion("A", "a")));
+        reasonerManager.addAxiomToOntology(bIsD);
+        expected.addAll(Arrays.asList(bIsC, bIsD));
+        assertMatchesExpected();
+
+        reasonerManager.pop();
+        expected.remove(bIsC);
+        assertMatchesExpected();
+    }
+
+    @Test
+    void consistencyOfLiteralsLeavesOntologyUnchanged() throws Exception {
+        reasonerManager.push(Collections.singletonList(bIsC));
+        expected.add(bIsC);
+
+        assertFalse(reasonerManager.isOntologyWithLiteralsConsistent(Collections.singletonList(aIsC)));
+        assertTrue(reasonerManager.isOntologyWithLiteralsConsistent(Collections.singletonList(bIsD)));
+        assertMatchesExpected();
+    }
+
+    @Test
+    void resetDiscardsOpenFrames() {
+        reasonerManager.push(Collections.singletonList(bIsC));
+        reasonerManager.push(Collections.singletonList(aIsC));
+
+        reasonerManager.resetOntologyToOriginal();
+        reasonerManager.pop();
+        assertMatchesExpected();
+    }
+
+    // between the observations of a batch, the same change is made in the original and the working ontology
+    private void changeBothOntologies(OWLAxiom axiom, boolean isAddition) {
+        for (OWLOntology target : Arrays.asList(loader.getOriginalOntology(), loader.getOntology())) {
+            if (isAddition) {
+                loader.getOntologyManager().addAxiom(target, axiom);
+            } else {
+                loader.getOntologyManager().removeAxiom(target, axiom);
+            }
+        }
+        if (isAddition) {
+            expected.add(axiom);
+        } else {
+            expected.remove(axiom);
+        }
+    }
+
+    private void assertWorkerMatchesExpected(IReasonerManager worker) {
+        assertEquals(expected, worker.getLoader().getOntology().axioms().collect(Collectors.toSet()));
+        assertEquals(isConsistent(expected), worker.isOntologyConsistent());
+    }
+
+    @Test
+    void followsChangesOfOriginalOntology() {
+        reasonerManager.addAxiomToOntology(bIsD);
+        expected.add(bIsD);
+        assertMatchesExpected();
+
+        // the tracked changes are the same, but the verdict is not taken from the cache
+        changeBothOntologies(aIsC, true);
+        assertMatchesExpected();
+
+        reasonerManager.resetOntologyToOriginal();
+        expected.remove(bIsD);
+        assertMatchesExpected();
+
+        // an added axiom that becomes a part of the original ontology is not undone
+        reasonerManager.addAxiomToOntology(bIsC);
+        changeBothOntologies(bIsC, true);
+        changeBothOntologies(aIsC, false);
+        reasonerManager.resetOntologyToOriginal();
+        assertMatchesExpected();
+    }
+
+    @Test
+    void pooledManagersFollowChangesOfOriginalOntology() {
+        try {
+            IReasonerManager worker = reasonerManager.lease();
+            assertWorkerMatchesExpected(worker);
+            reasonerManager.release(worker);
+
+            changeBothOntologies(aIsC, true);
+            changeBothOntologies(subClassOf("A", "B"), false);
+            worker = reasonerManager.lease();
+            assertWorkerMatchesExpected(worker);
+            reasonerManager.release(worker);
+        } finally {
+            reasonerManager.dispose();
+        }
+    }
+
+    private static class OntologyLoader extends Loader {
+
+        private final Collection<OWLAxiom> axioms;
+
+        OntologyLoader(Collection<OWLAxiom> axioms) {
+            this.axioms = axioms;
+            printer = new IPrinter() {
+                @Override
+                public void logInfo(String message) {
+                }
+
+                @Override
+                public void logError(String message, Throwable exception) {
+                }
+
+                @Override
+                public void print(String message) {
+                }
+            };
+        }
+
+        @Override
+        public void initialize(ReasonerType reasonerType) {
+            loadReasoner(reasonerType);
+        }
+
+        @Override
+        protected void setupOntology() throws OWLOntologyCreationException {
+            ontology = ontologyManager.createOntology(axioms);
+            createSnapshots();
+        }
+
+        @Override
+        protected void loadObservation() {
+        }
+
+        @Override
+        protected void loadAbducibles() {
+        }
+    }
+}